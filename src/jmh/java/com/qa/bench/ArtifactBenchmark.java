@@ -0,0 +1,99 @@
+package com.qa.bench;
+
+import com.qa.utils.ArtifactStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Кодирование скриншота и запись вложений: Base64 для встраивания в отчёт, запись нового
+ * блоба в {@link ArtifactStore} и повторная запись того же скриншота (дедупликация по хэшу).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArtifactBenchmark {
+    private Path root;
+    private ArtifactStore store;
+    private byte[] screenshot;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("artifact-bench");
+        store = new ArtifactStore(root, Long.MAX_VALUE, Duration.ofDays(365), null);
+        screenshot = screenshotLikePng();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public String base64Encode() {
+        return Base64.getEncoder().encodeToString(screenshot);
+    }
+
+    @Benchmark
+    public ArtifactStore.Artifact putNewBlob() {
+        // Меняем хвост PNG, чтобы каждый раз получался новый хэш и новый файл
+        long value = ++counter;
+        for (int i = 0; i < 8; i++) {
+            screenshot[screenshot.length - 1 - i] = (byte) (value >>> (8 * i));
+        }
+        return store.put("ArtifactBenchmark", "screenshot.png", "image/png", screenshot);
+    }
+
+    @Benchmark
+    public ArtifactStore.Artifact putDuplicate() {
+        return store.put("ArtifactBenchmark", "duplicate.png", "image/png", screenshot);
+    }
+
+    // Скриншот 1280x720 с текстом и заливками, по размеру близкий к настоящему
+    private static byte[] screenshotLikePng() throws IOException {
+        BufferedImage image = new BufferedImage(1280, 720, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 1280, 720);
+        graphics.setColor(Color.DARK_GRAY);
+        for (int y = 40; y < 720; y += 24) {
+            graphics.drawString("The quick brown fox jumps over the lazy dog " + y, 40, y);
+        }
+        graphics.setColor(new Color(0x2b, 0x6c, 0xb0));
+        graphics.fillRect(900, 100, 300, 200);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,106 @@
+package com.qa.bench;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+import com.qa.config.ConfigRegistry;
+import com.qa.config.EnvConfig;
+import com.qa.utils.BrowserPool;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Накладные расходы на браузерный тест без сети: выдача нового контекста и страницы
+ * (то, что {@code @UsePlaywright} делает перед каждым тестом), страница в тёплом контексте,
+ * переход на локальную заглушку и скриншот. Браузер берётся из {@link BrowserPool},
+ * движок - из конфига ({@code -Dbrowser=firefox}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BrowserBenchmark {
+    private static final String PAGE = """
+            <!doctype html>
+            <html><head><title>Login</title></head>
+            <body>
+            <h2>Login Page</h2>
+            <form><input id="username"><input id="password" type="password"><button type="submit">Login</button></form>
+            </body></html>
+            """;
+
+    private HttpServer server;
+    private String url;
+    private String engine;
+    private BrowserContext warmContext;
+    private Page warmPage;
+
+    // Для Scope.Thread JMH вызывает Setup в потоке бенчмарка, Playwright остаётся в одном потоке
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+        server.createContext("/login", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/login";
+        engine = ConfigRegistry.get(EnvConfig.class).browser();
+        warmContext = BrowserPool.newContext(engine);
+        warmPage = warmContext.newPage();
+        warmPage.navigate(url);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        warmContext.close();
+        BrowserPool.closeCurrentWorker();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public void newContextAndPage() {
+        BrowserContext context = BrowserPool.newContext(engine);
+        context.newPage();
+        context.close();
+    }
+
+    @Benchmark
+    public void newPageInWarmContext() {
+        warmContext.newPage().close();
+    }
+
+    @Benchmark
+    public Response navigateStub() {
+        return warmPage.navigate(url);
+    }
+
+    @Benchmark
+    public byte[] screenshot() {
+        return warmPage.screenshot();
+    }
+}
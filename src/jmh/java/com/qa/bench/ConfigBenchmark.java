@@ -0,0 +1,41 @@
+package com.qa.bench;
+
+import com.qa.config.ConfigRegistry;
+import com.qa.config.EnvConfig;
+import org.aeonbits.owner.ConfigFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Цена получения конфига: создание через Owner с чтением файлов против кэша {@link ConfigRegistry}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBenchmark {
+
+    @Benchmark
+    public EnvConfig configFactoryCreate() {
+        return ConfigFactory.create(EnvConfig.class, System.getProperties(), System.getenv());
+    }
+
+    @Benchmark
+    public EnvConfig registryCached() {
+        return ConfigRegistry.get(EnvConfig.class);
+    }
+
+    // Вызов метода прокси Owner тоже не бесплатный, тесты делают его постоянно
+    @Benchmark
+    public String registryCachedRead() {
+        return ConfigRegistry.get(EnvConfig.class).baseUrl();
+    }
+}
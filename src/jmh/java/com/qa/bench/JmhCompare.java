@@ -0,0 +1,99 @@
+package com.qa.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Сравнивает два JSON-результата JMH (базовый коммит и текущий) и печатает таблицу в Markdown.
+ * <p>
+ * Замедление считается регрессией, если текущая оценка хуже базовой больше чем в
+ * {@code jmh.max.slowdown} раз (по умолчанию 1.15) и доверительные интервалы не пересекаются.
+ * Все бенчмарки в режиме среднего времени, поэтому больше - хуже.
+ * С {@code -Djmh.fail.on.regression=true} при регрессии процесс завершается с кодом 1.
+ * <p>
+ * Запуск: {@code mvn -B -Pjmh exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.qa.bench.JmhCompare
+ * -Dexec.args="jmh-baseline.json target/jmh-result.json"}.
+ */
+public final class JmhCompare {
+
+    private JmhCompare() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Использование: JmhCompare <baseline.json> <current.json>");
+            System.exit(2);
+        }
+        Path baselineFile = Paths.get(args[0]);
+        if (!Files.exists(baselineFile)) {
+            System.out.println("Базовых результатов JMH нет, сравнение пропущено");
+            return;
+        }
+        double maxSlowdown = Double.parseDouble(System.getProperty("jmh.max.slowdown", "1.15"));
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(Paths.get(args[1]));
+
+        StringBuilder out = new StringBuilder();
+        out.append("| Бенчмарк | База | Текущий | Изменение | |\n|---|---:|---:|---:|---|\n");
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                out.append(String.format(Locale.ROOT, "| %s | - | %s | - | новый |%n", entry.getKey(), now));
+                continue;
+            }
+            double ratio = now.score() / before.score();
+            boolean regression = ratio > maxSlowdown && now.low() > before.high();
+            if (regression) {
+                regressions++;
+            }
+            out.append(String.format(Locale.ROOT, "| %s | %s | %s | x%.2f | %s |%n",
+                    entry.getKey(), before, now, ratio, regression ? "РЕГРЕССИЯ" : ""));
+        }
+        System.out.print(out);
+        System.out.println();
+        System.out.println(regressions == 0
+                ? "Накладные расходы фреймворка не выросли"
+                : "Регрессий: " + regressions + " (порог x" + maxSlowdown + ")");
+        if (regressions > 0 && Boolean.getBoolean("jmh.fail.on.regression")) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            String name = run.get("benchmark").asText().replace("com.qa.bench.", "");
+            JsonNode metric = run.get("primaryMetric");
+            double error = metric.get("scoreError").asDouble();
+            scores.put(name, new Score(metric.get("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.get("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private record Score(double score, double error, String unit) {
+
+        double low() {
+            return score - error;
+        }
+
+        double high() {
+            return score + error;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%.3f ± %.3f %s", score, error, unit);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.qa.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Генерация тестовых данных Faker и проверка JSON-ответа так, как это делают тесты
+ * ({@code FakerGenerTest}, {@code TodoApiTest}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TestDataBenchmark {
+    private static final String TODO = "{\"userId\":1,\"id\":1,\"title\":\"delectus aut autem\",\"completed\":false}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private Faker faker;
+
+    @Setup
+    public void setUp() {
+        faker = new Faker();
+    }
+
+    // Тесты создают Faker на каждый вызов, это загрузка YAML-словарей
+    @Benchmark
+    public Faker fakerCreate() {
+        return new Faker();
+    }
+
+    @Benchmark
+    public String fakerFullName() {
+        return faker.name().fullName();
+    }
+
+    @Benchmark
+    public boolean jacksonValidateTodo() throws IOException {
+        JsonNode node = mapper.readTree(TODO);
+        return node.has("userId") && node.has("id") && node.has("title") && node.has("completed")
+                && node.get("userId").isInt()
+                && node.get("id").isInt()
+                && node.get("title").isTextual()
+                && node.get("completed").isBoolean();
+    }
+}
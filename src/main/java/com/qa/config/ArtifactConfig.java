@@ -0,0 +1,39 @@
+package com.qa.config;
+
+import org.aeonbits.owner.Config;
+import org.aeonbits.owner.Config.Sources;
+
+@Sources({
+        "file:src/main/resources/config.properties",
+        "classpath:config.properties"
+})
+public interface ArtifactConfig extends Config {
+
+    @Key("artifacts.dir")
+    @DefaultValue("target/artifacts")
+    String dir();
+
+    @Key("artifacts.max.size.mb")
+    @DefaultValue("2048")
+    long maxSizeMb();
+
+    @Key("artifacts.max.age.days")
+    @DefaultValue("14")
+    int maxAgeDays();
+
+    // Пусто - выгрузка в S3 выключена
+    @Key("artifacts.s3.bucket")
+    String s3Bucket();
+
+    // Адрес S3-совместимого хранилища, например локального MinIO
+    @Key("artifacts.s3.endpoint")
+    String s3Endpoint();
+
+    @Key("artifacts.s3.region")
+    @DefaultValue("us-east-1")
+    String s3Region();
+
+    @Key("artifacts.s3.prefix")
+    @DefaultValue("artifacts/")
+    String s3Prefix();
+}
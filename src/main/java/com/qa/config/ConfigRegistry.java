@@ -0,0 +1,163 @@
+package com.qa.config;
+
+import org.aeonbits.owner.Config;
+import org.aeonbits.owner.ConfigFactory;
+import org.aeonbits.owner.Factory;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Единая точка получения конфигов: каждый интерфейс создаётся один раз на окружение
+ * и переиспользуется, пока файлы-источники на диске не изменились.
+ * <p>
+ * Порядок приоритетов (первый побеждает):
+ * <ol>
+ *     <li>системные свойства ({@code -Dkey=value});</li>
+ *     <li>переменные окружения;</li>
+ *     <li>файлы из {@link Config.Sources} интерфейса, где {@code ${env}} подставляется из {@link #currentEnv()};</li>
+ *     <li>{@link Config.DefaultValue}.</li>
+ * </ol>
+ * Изменения файлов проверяются не чаще, чем раз в {@code config.reload.interval.ms} (по умолчанию 1000 мс),
+ * поэтому повторный вызов {@link #get(Class)} стоит один поиск в map.
+ */
+public final class ConfigRegistry {
+    private static final String DEFAULT_ENV = "dev";
+    private static final long RELOAD_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong("config.reload.interval.ms", 1000L));
+
+    private static final Map<Key, Entry<?>> CACHE = new ConcurrentHashMap<>();
+
+    private ConfigRegistry() {
+    }
+
+    public static <T extends Config> T get(Class<T> type) {
+        return get(type, currentEnv());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T extends Config> T get(Class<T> type, String env) {
+        Entry<T> entry = (Entry<T>) CACHE.computeIfAbsent(new Key(type, env), key -> load(type, env));
+        if (entry.isStale()) {
+            Entry<T> fresh = load(type, env);
+            CACHE.put(new Key(type, env), fresh);
+            return fresh.config;
+        }
+        return entry.config;
+    }
+
+    /**
+     * Имя окружения: переменная окружения {@code env}, затем системное свойство {@code env}, иначе {@code dev}.
+     */
+    public static String currentEnv() {
+        String env = System.getenv("env");
+        if (env == null || env.isEmpty()) {
+            env = System.getProperty("env", DEFAULT_ENV);
+        }
+        return env;
+    }
+
+    /**
+     * Сбрасывает кэш, следующий {@link #get(Class)} перечитает источники.
+     */
+    public static void invalidate() {
+        CACHE.clear();
+    }
+
+    private static <T extends Config> Entry<T> load(Class<T> type, String env) {
+        Factory factory = ConfigFactory.newInstance();
+        factory.setProperty("env", env);
+        T config = factory.create(type, System.getProperties(), System.getenv());
+        return new Entry<>(config, watchedFiles(type, env));
+    }
+
+    private static List<WatchedFile> watchedFiles(Class<?> type, String env) {
+        List<WatchedFile> files = new ArrayList<>();
+        Config.Sources sources = type.getAnnotation(Config.Sources.class);
+        if (sources == null) {
+            return files;
+        }
+        for (String source : sources.value()) {
+            Path path = resolve(source.replace("${env}", env));
+            if (path != null) {
+                files.add(new WatchedFile(path, lastModified(path)));
+            }
+        }
+        return files;
+    }
+
+    private static Path resolve(String source) {
+        try {
+            if (source.startsWith("file:")) {
+                return Paths.get(source.substring("file:".length())).toAbsolutePath();
+            }
+            if (source.startsWith("classpath:")) {
+                URL url = ConfigRegistry.class.getClassLoader()
+                        .getResource(source.substring("classpath:".length()));
+                // Ресурсы внутри jar не меняются во время прогона, следить за ними незачем
+                if (url != null && "file".equals(url.getProtocol())) {
+                    return Paths.get(url.toURI());
+                }
+            }
+        } catch (URISyntaxException | RuntimeException e) {
+            return null;
+        }
+        return null;
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : -1L;
+        } catch (Exception e) {
+            return -1L;
+        }
+    }
+
+    private record Key(Class<?> type, String env) {
+        Key {
+            Objects.requireNonNull(type, "type");
+            Objects.requireNonNull(env, "env");
+        }
+    }
+
+    private record WatchedFile(Path path, long lastModified) {
+        boolean changed() {
+            return ConfigRegistry.lastModified(path) != lastModified;
+        }
+    }
+
+    private static final class Entry<T> {
+        private final T config;
+        private final List<WatchedFile> files;
+        private volatile long nextCheck;
+
+        Entry(T config, List<WatchedFile> files) {
+            this.config = config;
+            this.files = files;
+            this.nextCheck = System.nanoTime() + RELOAD_INTERVAL_NANOS;
+        }
+
+        boolean isStale() {
+            long now = System.nanoTime();
+            if (files.isEmpty() || now - nextCheck < 0) {
+                return false;
+            }
+            nextCheck = now + RELOAD_INTERVAL_NANOS;
+            for (WatchedFile file : files) {
+                if (file.changed()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.qa.config;
+
+import org.aeonbits.owner.Config;
+import org.aeonbits.owner.Config.Sources;
+
+@Sources({
+        "file:src/main/resources/config.properties",
+        "classpath:config.properties"
+})
+public interface CrawlConfig extends Config {
+
+    // Глубина от base_url: 0 - только стартовая страница
+    @Key("crawl.max.depth")
+    @DefaultValue("2")
+    int maxDepth();
+
+    @Key("crawl.max.pages")
+    @DefaultValue("5000")
+    int maxPages();
+
+    // Рабочие потоки, у каждого свой браузер из пула и свой контекст
+    @Key("crawl.workers")
+    @DefaultValue("4")
+    int workers();
+
+    @Key("crawl.time.budget.seconds")
+    @DefaultValue("300")
+    long timeBudgetSeconds();
+
+    // Бюджет загрузки одной страницы (до события load)
+    @Key("crawl.page.budget.ms")
+    @DefaultValue("5000")
+    long pageBudgetMs();
+
+    // Регулярное выражение для полных адресов, которые не обходятся
+    @Key("crawl.exclude")
+    @DefaultValue("")
+    String exclude();
+}
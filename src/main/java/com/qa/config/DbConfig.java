@@ -12,4 +12,14 @@ public interface DbConfig extends Config {
 
     @Key("db.password")
     String dbPassword();
+
+    // Таблицы, которые копируются в схему каждого рабочего потока (см. Tenant)
+    @Key("db.tenant.tables")
+    @DefaultValue("users")
+    String[] tenantTables();
+
+    // Не удалять схемы потоков в конце прогона, чтобы посмотреть данные после падения
+    @Key("db.tenant.keep")
+    @DefaultValue("false")
+    boolean tenantKeep();
 }
@@ -0,0 +1,31 @@
+package com.qa.config;
+
+import org.aeonbits.owner.Config;
+import org.aeonbits.owner.Config.Sources;
+
+import java.util.List;
+
+@Sources({
+        "file:src/main/resources/config.properties",
+        "classpath:config.properties"
+})
+public interface MatrixConfig extends Config {
+
+    @Key("matrix.browsers")
+    @DefaultValue("chromium,firefox,webkit")
+    List<String> browsers();
+
+    @Key("matrix.devices")
+    @DefaultValue("desktop")
+    List<String> devices();
+
+    // Сетевые профили (см. NetworkProfiles в тестах), none - без эмуляции.
+    // В firefox/webkit от профиля остаётся только задержка, и запросы страницы ждут её по очереди
+    @Key("matrix.networks")
+    @DefaultValue("none")
+    List<String> networks();
+
+    @Key("matrix.paths")
+    @DefaultValue("/")
+    List<String> paths();
+}
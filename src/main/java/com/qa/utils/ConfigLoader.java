@@ -1,18 +1,58 @@
 package com.qa.utils;
 
 import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Properties;
 
 public class ConfigLoader {
+    private static final String RESOURCE = "config.properties";
+
+    private static volatile Properties cached;
+    private static volatile long cachedModified = Long.MIN_VALUE;
+
+    // Файл читается один раз и перечитывается только если изменился на диске
     public static Properties load() {
+        long modified = lastModified();
+        Properties snapshot = cached;
+        if (snapshot == null || modified != cachedModified) {
+            synchronized (ConfigLoader.class) {
+                if (cached == null || modified != cachedModified) {
+                    cached = read();
+                    cachedModified = modified;
+                }
+                snapshot = cached;
+            }
+        }
+        Properties copy = new Properties();
+        copy.putAll(snapshot);
+        return copy;
+    }
+
+    private static Properties read() {
         Properties props = new Properties();
         try (InputStream input = ConfigLoader.class
                 .getClassLoader()
-                .getResourceAsStream("config.properties")) {
+                .getResourceAsStream(RESOURCE)) {
             props.load(input);  // Загружаем свойства из файла
         } catch (Exception e) {
             throw new RuntimeException("Config file not found!", e);
         }
         return props;
     }
-}
\ No newline at end of file
+
+    private static long lastModified() {
+        try {
+            URL url = ConfigLoader.class.getClassLoader().getResource(RESOURCE);
+            if (url == null || !"file".equals(url.getProtocol())) {
+                return 0L;
+            }
+            Path path = Paths.get(url.toURI());
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (Exception e) {
+            return 0L;
+        }
+    }
+}
@@ -2,17 +2,24 @@ package com.qa.components;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import com.qa.pages.Locate;
+import com.qa.utils.DomSnapshot;
+import com.qa.utils.PageElements;
 
 public class DragDropArea {
+    private static final String COLUMN_A = "#column-a";
+    private static final String COLUMN_B = "#column-b";
+
     private final Page page;
 
+    @Locate(COLUMN_A)
     Locator elementA;
+    @Locate(COLUMN_B)
     Locator elementB;
 
     public DragDropArea(Page page){
         this.page = page;
+        PageElements.init(this, page);
     }
 
     public DragDropArea dragAToB(){
@@ -20,17 +27,22 @@ public class DragDropArea {
         return this;
     }
     public DragDropArea assertThatInitialState() {
-        elementA = page.locator("#column-a");
-        elementB = page.locator("#column-b");
-
-        assertEquals("A", elementA.textContent());
-        assertEquals("B", elementB.textContent());
+        assertColumns("A", "B");
         return this;
     }
 
     public DragDropArea assertThatDraggedState() {
-        assertEquals("B", elementA.textContent());
-        assertEquals("A", elementB.textContent());
+        assertColumns("B", "A");
         return this;
     }
+
+    // Обе колонки читаются одним evaluate вместо двух textContent()
+    private void assertColumns(String expectedA, String expectedB) {
+        DomSnapshot.of(page)
+                .element("A", COLUMN_A)
+                .element("B", COLUMN_B)
+                .captureWhenAttached()
+                .assertText("A", expectedA)
+                .assertText("B", expectedB);
+    }
 }
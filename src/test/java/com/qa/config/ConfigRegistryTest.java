@@ -0,0 +1,36 @@
+package com.qa.config;
+
+import com.qa.example.config.EnvironmentConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigRegistryTest {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("envName");
+        ConfigRegistry.invalidate();
+    }
+
+    @Test
+    void testConfigIsCachedPerEnvironment() {
+        EnvConfig first = ConfigRegistry.get(EnvConfig.class);
+        EnvConfig second = ConfigRegistry.get(EnvConfig.class);
+        assertSame(first, second, "Повторный вызов должен вернуть тот же прокси");
+
+        EnvironmentConfig dev = ConfigRegistry.get(EnvironmentConfig.class, "dev");
+        EnvironmentConfig prod = ConfigRegistry.get(EnvironmentConfig.class, "prod");
+        assertEquals("dev", dev.envName());
+        assertEquals("Prod", prod.envName());
+    }
+
+    @Test
+    void testSystemPropertiesOverrideFiles() {
+        System.setProperty("envName", "override");
+        ConfigRegistry.invalidate();
+
+        assertEquals("override", ConfigRegistry.get(EnvironmentConfig.class, "dev").envName());
+    }
+}
@@ -0,0 +1,37 @@
+package com.qa.extensions;
+
+import com.qa.utils.BatchingResultsWriter;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+/**
+ * С {@code -Dallure.batch=true} подменяет писатель результатов Allure на {@link BatchingResultsWriter}.
+ * Подключается через {@code META-INF/services/org.junit.platform.launcher.LauncherSessionListener}:
+ * сессия создаётся раньше слушателей запуска, поэтому Allure-слушатель JUnit получает уже подменённый
+ * lifecycle. Параметры: {@code allure.batch.size} (200 записей), {@code allure.batch.flush.ms} (2000).
+ * <p>
+ * Перед {@code allure:report} пачки нужно развернуть:
+ * {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.qa.utils.BatchingResultsWriter}.
+ */
+public class AllureBatchSession implements LauncherSessionListener {
+    private final BatchingResultsWriter writer;
+
+    public AllureBatchSession() {
+        if (Boolean.getBoolean("allure.batch")) {
+            writer = new BatchingResultsWriter(BatchingResultsWriter.resultsDirectory(),
+                    Integer.getInteger("allure.batch.size", 200), Long.getLong("allure.batch.flush.ms", 2000));
+            Allure.setLifecycle(new AllureLifecycle(writer));
+        } else {
+            writer = null;
+        }
+    }
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
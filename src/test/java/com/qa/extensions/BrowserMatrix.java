@@ -0,0 +1,21 @@
+package com.qa.extensions;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Источник аргументов для {@code @ParameterizedTest}: декартово произведение
+ * {@code matrix.browsers} x {@code matrix.devices} x {@code matrix.networks} x {@code matrix.paths} из конфига.
+ * Метод принимает один параметр {@link MatrixCase}; итоги по движкам печатаются в конце прогона.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@ArgumentsSource(MatrixArgumentsProvider.class)
+@ExtendWith(MatrixSummaryExtension.class)
+public @interface BrowserMatrix {
+}
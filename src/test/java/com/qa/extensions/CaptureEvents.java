@@ -0,0 +1,25 @@
+package com.qa.extensions;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Собирает последние события консоли, JS-ошибки и упавшие запросы страниц теста
+ * (полей типа {@code Page} и страниц из {@link Device}) и прикладывает их к Allure, только если тест упал.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+@ExtendWith(EventCaptureExtension.class)
+public @interface CaptureEvents {
+    // Сколько последних событий хранить на страницу
+    int capacity() default 200;
+
+    // Валить зелёный тест, если на странице была неперехваченная JS-ошибка
+    boolean failOnPageError() default false;
+}
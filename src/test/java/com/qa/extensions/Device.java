@@ -0,0 +1,22 @@
+package com.qa.extensions;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Профиль устройства для теста: параметры {@code Page}/{@code BrowserContext} создаются
+ * с эмуляцией этого профиля на общем браузере рабочего потока и закрываются после теста.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@ExtendWith(DeviceExtension.class)
+public @interface Device {
+    String value();
+
+    // Пусто - движок из конфига (browser=...)
+    String engine() default "";
+}
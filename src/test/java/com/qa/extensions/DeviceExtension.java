@@ -0,0 +1,87 @@
+package com.qa.extensions;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.qa.config.ConfigRegistry;
+import com.qa.config.EnvConfig;
+import com.qa.utils.BrowserPool;
+import com.qa.utils.DeviceProfile;
+import com.qa.utils.DeviceProfiles;
+import com.qa.utils.NetworkProfile;
+import com.qa.utils.NetworkProfiles;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+public class DeviceExtension implements ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DeviceExtension.class);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        return type == Page.class || type == BrowserContext.class || type == DeviceProfile.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Device device = AnnotationSupport.findAnnotation(extensionContext.getRequiredTestMethod(), Device.class)
+                .or(() -> AnnotationSupport.findAnnotation(extensionContext.getRequiredTestClass(), Device.class))
+                .orElseThrow(() -> new ParameterResolutionException("Тест не помечен @Device"));
+        return resolve(parameterContext.getParameter().getType(), DeviceProfiles.get(device.value()),
+                device.engine(), extensionContext);
+    }
+
+    /**
+     * Контекст и страница создаются один раз на тест и закрываются вместе с его ExtensionContext.
+     */
+    static Object resolve(Class<?> type, DeviceProfile profile, String engine, ExtensionContext extensionContext) {
+        if (type == DeviceProfile.class) {
+            return profile;
+        }
+        String browser = engine.isEmpty() ? ConfigRegistry.get(EnvConfig.class).browser() : engine;
+        DeviceSession session = extensionContext.getStore(NAMESPACE).getOrComputeIfAbsent(
+                "session", key -> {
+                    BrowserContext context = BrowserPool.newContext(browser, profile.contextOptions());
+                    network(extensionContext).apply(context);
+                    return new DeviceSession(context);
+                },
+                DeviceSession.class);
+        if (type == Page.class) {
+            Page page = session.page();
+            EventCaptureExtension.track(extensionContext, page);
+            return page;
+        }
+        return session.context;
+    }
+
+    // Профиль из @Network на методе или классе, иначе из -Dnetwork.profile
+    private static NetworkProfile network(ExtensionContext extensionContext) {
+        return AnnotationSupport.findAnnotation(extensionContext.getTestMethod(), Network.class)
+                .or(() -> AnnotationSupport.findAnnotation(extensionContext.getTestClass(), Network.class))
+                .map(network -> NetworkProfiles.get(network.value()))
+                .orElseGet(NetworkProfiles::current);
+    }
+
+    private static final class DeviceSession implements ExtensionContext.Store.CloseableResource {
+        private final BrowserContext context;
+        private Page page;
+
+        DeviceSession(BrowserContext context) {
+            this.context = context;
+        }
+
+        Page page() {
+            if (page == null) {
+                page = context.newPage();
+            }
+            return page;
+        }
+
+        @Override
+        public void close() {
+            context.close();
+        }
+    }
+}
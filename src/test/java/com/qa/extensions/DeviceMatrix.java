@@ -0,0 +1,24 @@
+package com.qa.extensions;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Запускает тест отдельно для каждого профиля устройства (пустой список - все профили реестра).
+ * Вместе с {@code @Execution(CONCURRENT)} профили выполняются параллельно на рабочих потоках,
+ * каждый поток запускает браузер один раз.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@TestTemplate
+@ExtendWith(DeviceMatrixExtension.class)
+public @interface DeviceMatrix {
+    String[] value() default {};
+
+    String engine() default "";
+}
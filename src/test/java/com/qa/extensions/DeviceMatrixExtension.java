@@ -0,0 +1,58 @@
+package com.qa.extensions;
+
+import com.qa.utils.DeviceProfile;
+import com.qa.utils.DeviceProfiles;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class DeviceMatrixExtension implements TestTemplateInvocationContextProvider {
+
+    @Override
+    public boolean supportsTestTemplate(ExtensionContext context) {
+        return AnnotationSupport.isAnnotated(context.getTestMethod(), DeviceMatrix.class);
+    }
+
+    @Override
+    public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+        DeviceMatrix matrix = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), DeviceMatrix.class)
+                .orElseThrow();
+        Stream<DeviceProfile> profiles = matrix.value().length == 0
+                ? DeviceProfiles.all().stream()
+                : Arrays.stream(matrix.value()).map(DeviceProfiles::get);
+        return profiles.map(profile -> invocation(profile, matrix.engine()));
+    }
+
+    private static TestTemplateInvocationContext invocation(DeviceProfile profile, String engine) {
+        return new TestTemplateInvocationContext() {
+            @Override
+            public String getDisplayName(int invocationIndex) {
+                return profile.name();
+            }
+
+            @Override
+            public List<Extension> getAdditionalExtensions() {
+                return List.of(new ParameterResolver() {
+                    @Override
+                    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+                        return new DeviceExtension().supportsParameter(parameterContext, extensionContext);
+                    }
+
+                    @Override
+                    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+                        return DeviceExtension.resolve(parameterContext.getParameter().getType(), profile, engine,
+                                extensionContext);
+                    }
+                });
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.qa.extensions;
+
+import com.microsoft.playwright.Page;
+import com.qa.utils.EventRing;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+import java.lang.reflect.Field;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class EventCaptureExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(EventCaptureExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) throws Exception {
+        Object instance = context.getRequiredTestInstance();
+        // Страницы, созданные в @BeforeEach
+        for (Field field : ReflectionSupport.findFields(context.getRequiredTestClass(),
+                f -> f.getType() == Page.class, HierarchyTraversalMode.TOP_DOWN)) {
+            field.setAccessible(true);
+            Page page = (Page) field.get(instance);
+            if (page != null) {
+                track(context, page);
+            }
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Map<Page, EventRing> rings = rings(context);
+        if (rings.isEmpty()) {
+            return;
+        }
+        try {
+            report(context, rings);
+        } finally {
+            rings.values().forEach(EventRing::detach);
+        }
+    }
+
+    private static void report(ExtensionContext context, Map<Page, EventRing> rings) {
+        if (context.getExecutionException().isPresent()) {
+            int n = 0;
+            for (EventRing ring : rings.values()) {
+                if (ring.total() > 0) {
+                    Allure.addAttachment("События страницы" + (rings.size() > 1 ? " " + (++n) : ""),
+                            "text/plain", ring.dump(), ".txt");
+                }
+            }
+            return;
+        }
+        if (annotation(context).map(CaptureEvents::failOnPageError).orElse(false)) {
+            for (EventRing ring : rings.values()) {
+                if (ring.pageErrors() > 0) {
+                    Allure.addAttachment("События страницы", "text/plain", ring.dump(), ".txt");
+                    throw new AssertionError("На странице неперехваченные JS-ошибки: " + ring.pageErrors());
+                }
+            }
+        }
+    }
+
+    /**
+     * Подписывает страницу на сбор событий, если тест помечен {@link CaptureEvents}.
+     * Для страниц, которые создаются уже при вызове теста (параметры).
+     */
+    static void track(ExtensionContext context, Page page) {
+        Optional<CaptureEvents> annotation = annotation(context);
+        if (annotation.isEmpty()) {
+            return;
+        }
+        Map<Page, EventRing> rings = rings(context);
+        synchronized (rings) {
+            rings.computeIfAbsent(page, p -> new EventRing(annotation.get().capacity()).attach(p));
+        }
+    }
+
+    private static Optional<CaptureEvents> annotation(ExtensionContext context) {
+        return context.getTestMethod().flatMap(m -> AnnotationSupport.findAnnotation(m, CaptureEvents.class))
+                .or(() -> context.getTestClass().flatMap(c -> AnnotationSupport.findAnnotation(c, CaptureEvents.class)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Page, EventRing> rings(ExtensionContext context) {
+        return context.getStore(NAMESPACE).getOrComputeIfAbsent("rings", key -> new IdentityHashMap<>(), Map.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.qa.extensions;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.qa.utils.BrowserPool;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * В конце прогона ищет контексты и страницы браузеров {@link BrowserPool}, которые никто не закрыл.
+ * Ресурсы WORKER и заготовки страниц ({@link BrowserPool#prefetch}) живут до конца JVM и утечками не считаются. Отчёт печатается
+ * и пишется в {@code target/playwright-leaks.txt}.
+ */
+final class LeakDetector implements ExtensionContext.Store.CloseableResource {
+    private static final Path REPORT_FILE = Paths.get("target", "playwright-leaks.txt");
+    private static final Set<Object> EXPECTED = Collections.synchronizedSet(
+            Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    static void register(ExtensionContext context) {
+        context.getRoot().getStore(ExtensionContext.Namespace.create(LeakDetector.class))
+                .getOrComputeIfAbsent("detector", key -> new LeakDetector(), LeakDetector.class);
+    }
+
+    static void expect(Object resource) {
+        EXPECTED.add(resource);
+    }
+
+    static String report() {
+        StringBuilder sb = new StringBuilder();
+        int contexts = 0;
+        int pages = 0;
+        for (Browser browser : BrowserPool.browsers()) {
+            for (BrowserContext context : browser.contexts()) {
+                if (BrowserPool.isPrefetched(context)) {
+                    continue;
+                }
+                boolean expectedContext = EXPECTED.contains(context);
+                for (Page page : context.pages()) {
+                    if (!EXPECTED.contains(page)) {
+                        pages++;
+                        sb.append("  страница ").append(page.url()).append(" (")
+                                .append(browser.browserType().name()).append(")\n");
+                    }
+                }
+                if (!expectedContext) {
+                    contexts++;
+                    sb.append("  контекст ").append(browser.browserType().name())
+                            .append(", страниц: ").append(context.pages().size()).append('\n');
+                }
+            }
+        }
+        if (contexts == 0 && pages == 0) {
+            return "";
+        }
+        return "Незакрытые ресурсы Playwright: контекстов " + contexts + ", страниц " + pages + "\n" + sb;
+    }
+
+    @Override
+    public void close() throws IOException {
+        String report = report();
+        if (report.isEmpty()) {
+            Files.deleteIfExists(REPORT_FILE);
+            return;
+        }
+        System.err.print(report);
+        Files.createDirectories(REPORT_FILE.getParent());
+        Files.writeString(REPORT_FILE, report, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,27 @@
+package com.qa.extensions;
+
+import com.qa.config.ConfigRegistry;
+import com.qa.config.MatrixConfig;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+
+import java.util.stream.Stream;
+
+public class MatrixArgumentsProvider implements ArgumentsProvider {
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+        MatrixConfig config = ConfigRegistry.get(MatrixConfig.class);
+        // Движок во внешнем цикле: строки одного движка идут подряд и попадают на уже запущенный браузер
+        return config.browsers().stream()
+                .map(String::trim)
+                .flatMap(browser -> config.devices().stream()
+                        .map(String::trim)
+                        .flatMap(device -> config.networks().stream()
+                                .map(String::trim)
+                                .flatMap(network -> config.paths().stream()
+                                        .map(String::trim)
+                                        .map(path -> Arguments.of(new MatrixCase(browser, device, network, path))))));
+    }
+}
@@ -0,0 +1,31 @@
+package com.qa.extensions;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.qa.utils.BrowserPool;
+import com.qa.utils.DeviceProfiles;
+import com.qa.utils.NetworkProfiles;
+
+/**
+ * Одна строка кросс-браузерной матрицы: движок x устройство x сеть x путь.
+ * Устройство - имя профиля из {@link DeviceProfiles}, сеть - из {@link NetworkProfiles}.
+ */
+public record MatrixCase(String browser, String device, String network, String path) {
+    public Browser.NewContextOptions contextOptions() {
+        return DeviceProfiles.get(device).contextOptions();
+    }
+
+    // Контекст из общего для потока браузера нужного движка
+    public BrowserContext newContext() {
+        BrowserContext context = BrowserPool.newContext(browser, contextOptions());
+        NetworkProfiles.get(network).apply(context);
+        return context;
+    }
+
+    @Override
+    public String toString() {
+        return NetworkProfiles.NONE.equals(network)
+                ? browser + "/" + device + " " + path
+                : browser + "/" + device + "/" + network + " " + path;
+    }
+}
@@ -0,0 +1,86 @@
+package com.qa.extensions;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Считает по каждому движку число строк матрицы, падения и суммарное время,
+ * в конце прогона печатает сводку и пишет её в {@code target/matrix-summary.txt}.
+ */
+public class MatrixSummaryExtension implements InvocationInterceptor {
+    private static final Path SUMMARY_FILE = Paths.get("target", "matrix-summary.txt");
+    private static final Map<String, EngineStats> STATS = new ConcurrentHashMap<>();
+
+    @Override
+    public void interceptTestTemplateMethod(Invocation<Void> invocation,
+                                            ReflectiveInvocationContext<Method> invocationContext,
+                                            ExtensionContext extensionContext) throws Throwable {
+        MatrixCase matrixCase = invocationContext.getArguments().stream()
+                .filter(MatrixCase.class::isInstance)
+                .map(MatrixCase.class::cast)
+                .findFirst()
+                .orElse(null);
+        if (matrixCase == null) {
+            invocation.proceed();
+            return;
+        }
+        extensionContext.getRoot().getStore(ExtensionContext.Namespace.create(MatrixSummaryExtension.class))
+                .getOrComputeIfAbsent("summary", key -> new SummaryPrinter(), SummaryPrinter.class);
+
+        EngineStats stats = STATS.computeIfAbsent(matrixCase.browser(), key -> new EngineStats());
+        long start = System.nanoTime();
+        boolean passed = false;
+        try {
+            invocation.proceed();
+            passed = true;
+        } finally {
+            stats.record(System.nanoTime() - start, passed);
+        }
+    }
+
+    static String summary() {
+        StringBuilder sb = new StringBuilder("Итоги матрицы по движкам:\n");
+        new TreeMap<>(STATS).forEach((engine, stats) -> sb.append(String.format(
+                "  %-10s cases=%d failed=%d total=%d мс avg=%d мс%n",
+                engine, stats.cases.get(), stats.failed.get(),
+                stats.nanos.get() / 1_000_000, stats.nanos.get() / 1_000_000 / Math.max(1, stats.cases.get()))));
+        return sb.toString();
+    }
+
+    private static final class EngineStats {
+        private final AtomicLong cases = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+
+        void record(long elapsed, boolean passed) {
+            cases.incrementAndGet();
+            nanos.addAndGet(elapsed);
+            if (!passed) {
+                failed.incrementAndGet();
+            }
+        }
+    }
+
+    // Закрывается JUnit в конце прогона вместе с корневым store
+    private static final class SummaryPrinter implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() throws IOException {
+            String summary = summary();
+            System.out.println(summary);
+            Files.createDirectories(SUMMARY_FILE.getParent());
+            Files.writeString(SUMMARY_FILE, summary, StandardCharsets.UTF_8);
+        }
+    }
+}
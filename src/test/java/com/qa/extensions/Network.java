@@ -0,0 +1,19 @@
+package com.qa.extensions;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Сетевой профиль из {@link com.qa.utils.NetworkProfiles} для контекстов, которые создаёт
+ * {@link Device}/{@link DeviceMatrix}. Без аннотации - профиль из {@code -Dnetwork.profile}.
+ * Вне Chromium профиль сводится к задержке каждого запроса, причём запросы задерживаются
+ * по очереди (см. {@link com.qa.utils.NetworkProfile}): для Firefox и WebKit это проверка
+ * устойчивости к медленной сети, а не её точная модель.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Network {
+    String value();
+}
@@ -0,0 +1,275 @@
+package com.qa.extensions;
+
+import com.microsoft.playwright.APIRequest;
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.qa.config.ConfigRegistry;
+import com.qa.config.EnvConfig;
+import com.qa.utils.BrowserPool;
+import com.qa.utils.PageEvents;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Внедряет ресурсы Playwright с заданным временем жизни (см. {@link UsePlaywright}).
+ * <p>
+ * Контекст, страница и API-контекст одного времени жизни общие для всех параметров теста и его
+ * {@code @BeforeEach}: {@code Page} - это страница внедрённого {@code BrowserContext} того же времени жизни.
+ * Ресурсы METHOD и CLASS лежат в store соответствующего {@link ExtensionContext} и закрываются JUnit
+ * вместе с ним, даже если тест упал. Браузер бывает только WORKER: запуск браузера - самая дорогая часть.
+ * <p>
+ * Страница METHOD теста с {@link StartPage} приходит уже открытой на стартовом адресе: заготовкой
+ * {@link BrowserPool#prefetch}, если её открыл предыдущий тест потока, иначе обычной навигацией.
+ */
+public class PlaywrightExtension implements ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(PlaywrightExtension.class);
+    private static final ThreadLocal<Map<String, Resources>> WORKER = ThreadLocal.withInitial(HashMap::new);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        return type == Page.class || type == BrowserContext.class || type == Browser.class
+                || type == APIRequestContext.class || type == PageEvents.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        LeakDetector.register(extensionContext);
+        Class<?> type = parameterContext.getParameter().getType();
+        ResourceScope scope = parameterContext.findAnnotation(Scoped.class)
+                .map(Scoped::value)
+                .orElse(defaultScope(type));
+        Optional<UsePlaywright> settings = settings(extensionContext);
+        String engine = settings.map(UsePlaywright::engine).filter(e -> !e.isEmpty())
+                .orElseGet(() -> ConfigRegistry.get(EnvConfig.class).browser());
+
+        if (type == Browser.class) {
+            if (scope != ResourceScope.WORKER) {
+                throw new ParameterResolutionException("Browser бывает только WORKER, для изоляции используйте BrowserContext");
+            }
+            return BrowserPool.browser(engine);
+        }
+        String apiBaseUrl = settings.map(UsePlaywright::apiBaseUrl).filter(u -> !u.isEmpty())
+                .orElseGet(() -> ConfigRegistry.get(EnvConfig.class).baseUrl());
+        Handover handover = handover(engine, extensionContext);
+        Resources resources = resources(scope, engine, apiBaseUrl.replaceAll("/$", ""), handover, extensionContext);
+        if (type == Page.class) {
+            return resources.page();
+        }
+        if (type == PageEvents.class) {
+            return resources.events();
+        }
+        if (type == BrowserContext.class) {
+            return resources.context();
+        }
+        return resources.api();
+    }
+
+    private static ResourceScope defaultScope(Class<?> type) {
+        if (type == Browser.class) {
+            return ResourceScope.WORKER;
+        }
+        return type == APIRequestContext.class ? ResourceScope.CLASS : ResourceScope.METHOD;
+    }
+
+    private static Optional<UsePlaywright> settings(ExtensionContext context) {
+        return context.getTestMethod().flatMap(m -> AnnotationSupport.findAnnotation(m, UsePlaywright.class))
+                .or(() -> context.getTestClass().flatMap(c -> AnnotationSupport.findAnnotation(c, UsePlaywright.class)));
+    }
+
+    /**
+     * Один раз на тест: забирает заготовку стартовой страницы (чужую закрывает) и, если включено,
+     * открывает заготовку для следующего теста. Заготовка лежит в store раньше ресурсов теста
+     * и закрывается после них, если так и не понадобилась.
+     */
+    private static Handover handover(String engine, ExtensionContext context) {
+        if (context.getTestMethod().isEmpty()) {
+            return null;
+        }
+        return context.getStore(NAMESPACE).getOrComputeIfAbsent(Handover.class, k -> {
+            Optional<String> url = PrefetchPlanner.startUrl(context);
+            Page warm = null;
+            if (url.isPresent()) {
+                warm = BrowserPool.takePrefetched(engine, url.get());
+            } else {
+                BrowserPool.discardPrefetched();
+            }
+            if (PrefetchPlanner.enabled()) {
+                PrefetchPlanner.next(context).ifPresent(next -> BrowserPool.prefetch(next.engine(), next.url()));
+            }
+            return new Handover(url.orElse(null), warm);
+        }, Handover.class);
+    }
+
+    private static Resources resources(ResourceScope scope, String engine, String apiBaseUrl, Handover handover,
+                                       ExtensionContext context) {
+        String key = engine + " " + apiBaseUrl;
+        if (scope == ResourceScope.WORKER) {
+            return WORKER.get().computeIfAbsent(key, k -> new Resources(scope, engine, apiBaseUrl, null));
+        }
+        ExtensionContext owner = scope == ResourceScope.METHOD ? methodContext(context) : classContext(context);
+        Resources resources = owner.getStore(NAMESPACE).getOrComputeIfAbsent(key,
+                k -> new Resources(scope, engine, apiBaseUrl, scope == ResourceScope.METHOD ? handover : null),
+                Resources.class);
+        if (resources.owner != Thread.currentThread()) {
+            throw new ParameterResolutionException("Ресурс CLASS запрошен из другого потока (" + Thread.currentThread().getName()
+                    + "): Playwright не потокобезопасен, уберите @Execution(CONCURRENT) у класса или используйте METHOD");
+        }
+        return resources;
+    }
+
+    private static ExtensionContext methodContext(ExtensionContext context) {
+        if (context.getTestMethod().isEmpty()) {
+            throw new ParameterResolutionException("Ресурс METHOD недоступен вне теста (например, в @BeforeAll), используйте @Scoped(CLASS)");
+        }
+        return context;
+    }
+
+    // Для параметризованных тестов поднимаемся выше контекста шаблона
+    private static ExtensionContext classContext(ExtensionContext context) {
+        ExtensionContext current = context;
+        while (current.getTestMethod().isPresent() && current.getParent().isPresent()) {
+            current = current.getParent().get();
+        }
+        return current;
+    }
+
+    // Стартовый адрес теста и заготовка страницы, если её удалось забрать
+    private static final class Handover implements ExtensionContext.Store.CloseableResource {
+        private final String url;
+        private Page warm;
+
+        Handover(String url, Page warm) {
+            this.url = url;
+            this.warm = warm;
+        }
+
+        Page take() {
+            Page page = warm;
+            warm = null;
+            return page;
+        }
+
+        @Override
+        public void close() {
+            if (warm != null) {
+                try {
+                    warm.context().close();
+                } catch (Exception e) {
+                    // Игнор исключения
+                }
+            }
+        }
+    }
+
+    private static final class Resources implements ExtensionContext.Store.CloseableResource {
+        private final ResourceScope scope;
+        private final String engine;
+        private final String apiBaseUrl;
+        private final Handover handover;
+        private final Thread owner = Thread.currentThread();
+        private BrowserContext context;
+        private Page page;
+        private PageEvents events;
+        private APIRequestContext api;
+
+        Resources(ResourceScope scope, String engine, String apiBaseUrl, Handover handover) {
+            this.scope = scope;
+            this.engine = engine;
+            this.apiBaseUrl = apiBaseUrl;
+            this.handover = handover;
+        }
+
+        BrowserContext context() {
+            if (context == null) {
+                if (handover != null && handover.url != null) {
+                    open(handover.url);
+                    return context;
+                }
+                context = BrowserPool.newContext(engine);
+                if (scope == ResourceScope.WORKER) {
+                    LeakDetector.expect(context);
+                }
+            }
+            return context;
+        }
+
+        // Контекст со страницей на стартовом адресе: заготовка или обычная навигация
+        private void open(String url) {
+            Page warm = handover.take();
+            if (warm != null) {
+                page = warm;
+                context = warm.context();
+                return;
+            }
+            context = BrowserPool.newContext(engine);
+            page = context.newPage();
+            page.navigate(url);
+        }
+
+        Page page() {
+            BrowserContext owner = context();
+            if (page == null || page.isClosed()) {
+                page = owner.newPage();
+                if (scope == ResourceScope.WORKER) {
+                    LeakDetector.expect(page);
+                }
+            }
+            return page;
+        }
+
+        // События внедрённой страницы того же времени жизни, обработчики снимаются при закрытии
+        PageEvents events() {
+            Page current = page();
+            if (events == null || events.page() != current) {
+                if (events != null) {
+                    events.close();
+                }
+                events = PageEvents.attach(current);
+            }
+            return events;
+        }
+
+        APIRequestContext api() {
+            if (api == null) {
+                api = BrowserPool.playwright().request().newContext(
+                        new APIRequest.NewContextOptions().setBaseURL(apiBaseUrl));
+            }
+            return api;
+        }
+
+        @Override
+        public void close() {
+            if (events != null) {
+                try {
+                    events.close();
+                } catch (Exception e) {
+                    // Страница могла быть уже закрыта
+                }
+            }
+            if (context != null) {
+                try {
+                    context.close();
+                } catch (Exception e) {
+                    // Тест мог закрыть контекст сам
+                }
+            }
+            if (api != null) {
+                try {
+                    api.dispose();
+                } catch (Exception e) {
+                    // Игнор исключения
+                }
+            }
+        }
+    }
+}
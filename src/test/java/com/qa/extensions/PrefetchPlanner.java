@@ -0,0 +1,119 @@
+package com.qa.extensions;
+
+import com.qa.config.ConfigRegistry;
+import com.qa.config.EnvConfig;
+import com.qa.pages.BasePage;
+import com.qa.pages.PagePath;
+import com.qa.utils.Urls;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Предсказывает следующий тест потока для предзагрузки его {@link StartPage}, включается
+ * {@code -Dprefetch=true}. Подключается через
+ * {@code META-INF/services/org.junit.platform.launcher.TestExecutionListener} и запоминает план:
+ * тесты класса с режимом SAME_THREAD идут в порядке плана, поэтому следующий - соседний узел.
+ * Следующий вызов параметризованного теста - тот же метод. Для CONCURRENT-классов соседний тест
+ * уйдёт в другой поток, их страницы заранее не открываются.
+ */
+public class PrefetchPlanner implements TestExecutionListener {
+    private static volatile TestPlan plan;
+
+    record Target(String engine, String url) {
+    }
+
+    static boolean enabled() {
+        return Boolean.getBoolean("prefetch");
+    }
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        plan = testPlan;
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        plan = null;
+    }
+
+    /**
+     * Стартовая страница теста, если она объявлена.
+     */
+    static Optional<String> startUrl(ExtensionContext context) {
+        return context.getTestMethod().flatMap(m -> startUrl(context.getRequiredTestClass(), m));
+    }
+
+    static Optional<Target> next(ExtensionContext context) {
+        TestPlan current = plan;
+        if (current == null || context.getTestMethod().isEmpty()
+                || context.getExecutionMode() == ExecutionMode.CONCURRENT) {
+            return Optional.empty();
+        }
+        // Вызов шаблона (параметризованный тест): скорее всего следом идёт вызов того же метода
+        if (context.getParent().flatMap(ExtensionContext::getTestMethod).isPresent()) {
+            return target(context.getRequiredTestClass(), context.getRequiredTestMethod());
+        }
+        try {
+            TestIdentifier test = current.getTestIdentifier(UniqueId.parse(context.getUniqueId()));
+            Optional<TestIdentifier> parent = current.getParent(test);
+            if (parent.isEmpty()) {
+                return Optional.empty();
+            }
+            Iterator<TestIdentifier> siblings = current.getChildren(parent.get()).iterator();
+            while (siblings.hasNext()) {
+                if (siblings.next().equals(test)) {
+                    return siblings.hasNext() ? target(siblings.next()) : Optional.empty();
+                }
+            }
+        } catch (RuntimeException e) {
+            // Динамический тест вне плана
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Target> target(TestIdentifier test) {
+        if (test.getSource().orElse(null) instanceof MethodSource source) {
+            try {
+                return target(source.getJavaClass(), source.getJavaMethod());
+            } catch (RuntimeException e) {
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Target> target(Class<?> testClass, Method method) {
+        String engine = AnnotationSupport.findAnnotation(method, UsePlaywright.class)
+                .or(() -> AnnotationSupport.findAnnotation(testClass, UsePlaywright.class))
+                .map(UsePlaywright::engine).filter(e -> !e.isEmpty())
+                .orElseGet(() -> ConfigRegistry.get(EnvConfig.class).browser());
+        return startUrl(testClass, method).map(url -> new Target(engine, url));
+    }
+
+    private static Optional<String> startUrl(Class<?> testClass, Method method) {
+        return AnnotationSupport.findAnnotation(method, StartPage.class)
+                .or(() -> AnnotationSupport.findAnnotation(testClass, StartPage.class))
+                .map(PrefetchPlanner::url);
+    }
+
+    private static String url(StartPage start) {
+        if (!start.value().isEmpty()) {
+            return start.value().startsWith("http") ? start.value() : Urls.of(start.value());
+        }
+        PagePath path = start.page() == BasePage.class ? null : start.page().getAnnotation(PagePath.class);
+        if (path == null) {
+            throw new IllegalStateException("@StartPage: укажите адрес или класс страницы с @PagePath");
+        }
+        return Urls.of(path.value());
+    }
+}
@@ -0,0 +1,13 @@
+package com.qa.extensions;
+
+/**
+ * Время жизни ресурса Playwright, который внедряет {@link PlaywrightExtension}.
+ */
+public enum ResourceScope {
+    // Создаётся для теста и закрывается после него
+    METHOD,
+    // Общий для тестов класса, закрывается после класса; тесты класса должны идти в одном потоке
+    CLASS,
+    // Общий для всех тестов рабочего потока, закрывается при завершении JVM
+    WORKER
+}
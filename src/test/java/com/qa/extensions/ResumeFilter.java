@@ -0,0 +1,33 @@
+package com.qa.extensions;
+
+import com.qa.utils.RunJournal;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+/**
+ * С {@code -Dresume=true} убирает из плана тесты, которые уже прошли по {@link RunJournal}:
+ * продолженный прогон выполняет только незавершённые и упавшие. Исключённые тесты не попадают
+ * в отчёты как пропущенные, их прежние результаты остаются как есть.
+ * Подключается через {@code META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter}.
+ */
+public class ResumeFilter implements PostDiscoveryFilter {
+    private RunJournal.Snapshot snapshot;
+
+    static boolean resume() {
+        return Boolean.getBoolean("resume");
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!resume()) {
+            return FilterResult.included("resume выключен");
+        }
+        if (snapshot == null) {
+            snapshot = RunJournal.load(RunJournal.defaultFile());
+        }
+        return snapshot.passed(descriptor.getUniqueId().toString())
+                ? FilterResult.excluded("прошёл в прерванном прогоне")
+                : FilterResult.included("не завершён или упал");
+    }
+}
@@ -0,0 +1,115 @@
+package com.qa.extensions;
+
+import com.qa.utils.RunJournal;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Пишет результат каждого теста в {@link RunJournal}, подключается через
+ * {@code META-INF/services/org.junit.platform.launcher.TestExecutionListener}.
+ * <p>
+ * Без {@code -Dresume=true} журнал начинается заново, с ним - дописывается, а {@link ResumeFilter}
+ * убирает из плана уже прошедшие тесты. В конце печатается общая сводка по журналу, то есть
+ * по прерванному и продолженному прогонам вместе, и пишется в {@code target/run-summary.txt}.
+ * Результаты Allure прошлого прогона остаются в {@code target/allure-results}, если не делать clean,
+ * и попадают в тот же отчёт.
+ */
+public class RunJournalListener implements TestExecutionListener {
+    private static final Path SUMMARY_FILE = Paths.get("target", "run-summary.txt");
+
+    private final Map<String, Long> starts = new ConcurrentHashMap<>();
+    private final Set<String> executed = ConcurrentHashMap.newKeySet();
+    private RunJournal journal;
+    private boolean opened;
+
+    @Override
+    public synchronized void testPlanExecutionStarted(TestPlan testPlan) {
+        // Surefire может выполнить несколько планов в одной JVM, второй дописывает журнал
+        journal = RunJournal.open(ResumeFilter.resume() || opened);
+        opened = true;
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        starts.put(testIdentifier.getUniqueId(), System.nanoTime());
+    }
+
+    @Override
+    public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+        if (testIdentifier.isTest() && journal != null) {
+            journal.append(RunJournal.SKIPPED, "test", testIdentifier.getUniqueId(), 0, testIdentifier.getDisplayName());
+            executed.add(testIdentifier.getUniqueId());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult result) {
+        Long start = starts.remove(testIdentifier.getUniqueId());
+        // Из контейнеров нужны только методы с динамическими тестами (шаблоны, фабрики)
+        boolean methodContainer = testIdentifier.isContainer()
+                && testIdentifier.getSource().filter(MethodSource.class::isInstance).isPresent();
+        if (journal == null || !(testIdentifier.isTest() || methodContainer)) {
+            return;
+        }
+        long millis = start == null ? 0 : (System.nanoTime() - start) / 1_000_000;
+        journal.append(status(result), testIdentifier.isTest() ? "test" : "container",
+                testIdentifier.getUniqueId(), millis, testIdentifier.getDisplayName());
+        executed.add(testIdentifier.getUniqueId());
+    }
+
+    @Override
+    public synchronized void testPlanExecutionFinished(TestPlan testPlan) {
+        if (journal == null) {
+            return;
+        }
+        journal.close();
+        String summary = summary(RunJournal.load(journal.file()));
+        journal = null;
+        System.out.print(summary);
+        try {
+            Files.createDirectories(SUMMARY_FILE.getParent());
+            Files.writeString(SUMMARY_FILE, summary, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Не удалось записать сводку прогона: " + e.getMessage());
+        }
+    }
+
+    private String summary(RunJournal.Snapshot snapshot) {
+        StringBuilder sb = new StringBuilder("Итоги прогона по журналу ").append(RunJournal.defaultFile()).append(":\n");
+        snapshot.counts().forEach((status, count) -> sb.append(String.format("  %-8s %d%n", status, count)));
+        long restored = snapshot.entries().values().stream()
+                .filter(e -> "test".equals(e.kind()) && !executed.contains(e.uniqueId()))
+                .count();
+        if (restored > 0) {
+            sb.append(String.format("  из них взято из прерванного прогона: %d%n", restored));
+        }
+        snapshot.entries().values().stream()
+                .filter(e -> "test".equals(e.kind())
+                        && (RunJournal.FAILED.equals(e.status()) || RunJournal.ABORTED.equals(e.status())))
+                .forEach(e -> sb.append("  ").append(e.status()).append(": ").append(e.uniqueId()).append('\n'));
+        return sb.toString();
+    }
+
+    private static String status(TestExecutionResult result) {
+        switch (result.getStatus()) {
+            case SUCCESSFUL:
+                return RunJournal.PASSED;
+            case ABORTED:
+                return RunJournal.ABORTED;
+            default:
+                return RunJournal.FAILED;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.qa.extensions;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Явное время жизни внедряемого параметра. Без аннотации: {@code Browser} - WORKER,
+ * {@code BrowserContext}, {@code Page} и {@code PageEvents} - METHOD, {@code APIRequestContext} - CLASS.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Scoped {
+    ResourceScope value();
+}
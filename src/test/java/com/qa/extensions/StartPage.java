@@ -0,0 +1,27 @@
+package com.qa.extensions;
+
+import com.qa.pages.BasePage;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Страница, с которой начинается тест: внедрённая {@code Page} (время жизни METHOD) приходит
+ * уже открытой на этом адресе. Адрес - путь от {@code base_url} или полный URL в {@code value},
+ * либо {@link com.qa.pages.PagePath} класса страницы в {@code page}. Аннотация метода важнее
+ * аннотации класса.
+ * <p>
+ * С {@code -Dprefetch=true} страница открывается заранее, пока идёт предыдущий тест потока
+ * (см. {@link PrefetchPlanner}).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+public @interface StartPage {
+    String value() default "";
+
+    Class<? extends BasePage> page() default BasePage.class;
+}
@@ -0,0 +1,63 @@
+package com.qa.extensions;
+
+import com.qa.utils.BrowserPool;
+import com.qa.utils.TelemetryLog;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Status;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Замеры памяти и CPU браузеров на границах теста (см. {@link TelemetryLog}), подключается
+ * через {@link UsePlaywright}. Выключается {@code -Dtelemetry=false}.
+ * <p>
+ * Итоговый замер делается при закрытии store теста. Store закрывает ресурсы в обратном порядке,
+ * а замер кладётся до внедрения параметров, поэтому к этому моменту контексты и страницы теста
+ * уже закрыты, и всё, что осталось открытым, - утечка.
+ */
+public class TelemetryExtension implements BeforeEachCallback, AfterTestExecutionCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TelemetryExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (!TelemetryLog.enabled()) {
+            return;
+        }
+        String test = context.getRequiredTestClass().getSimpleName() + "." + context.getDisplayName();
+        Probe probe = new Probe(test, TelemetryLog.get().snapshot(test, "before", BrowserPool.currentBrowsers(), false));
+        context.getStore(NAMESPACE).put(Probe.class, probe);
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Probe probe = context.getStore(NAMESPACE).get(Probe.class, Probe.class);
+        if (probe != null) {
+            // Страницы ещё открыты: JS-куча теста
+            probe.executed = TelemetryLog.get().snapshot(probe.test, "executed", BrowserPool.currentBrowsers(), true);
+        }
+    }
+
+    private static final class Probe implements ExtensionContext.Store.CloseableResource {
+        private final String test;
+        private final TelemetryLog.Snapshot before;
+        private TelemetryLog.Snapshot executed;
+
+        Probe(String test, TelemetryLog.Snapshot before) {
+            this.test = test;
+            this.before = before;
+        }
+
+        @Override
+        public void close() {
+            TelemetryLog log = TelemetryLog.get();
+            TelemetryLog.Snapshot after = log.snapshot(test, "after", BrowserPool.currentBrowsers(), false);
+            TelemetryLog.TestUsage usage = log.finish(test, before, executed, after);
+            Allure.addAttachment("Телеметрия браузера", "text/plain", usage.toString(), ".txt");
+            if (usage.leaking()) {
+                Allure.label("tag", "memory-leak");
+                Allure.step("Подозрение на утечку: " + String.join(", ", usage.problems()), Status.BROKEN);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.qa.extensions;
+
+import com.qa.config.ConfigRegistry;
+import com.qa.config.DbConfig;
+import com.qa.utils.Tenant;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Внедряет {@link Tenant} потока и соединение с его схемой (см. {@link TenantIsolation}).
+ * Соединение одно на тест и закрывается вместе с его store.
+ */
+public class TenantExtension implements ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TenantExtension.class);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        return type == Tenant.class || type == Connection.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        // Схемы всех потоков удаляются при закрытии корневого store, то есть в конце прогона
+        extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(Cleanup.class, key -> new Cleanup(), Cleanup.class);
+        if (parameterContext.getParameter().getType() == Tenant.class) {
+            return Tenant.current();
+        }
+        if (extensionContext.getTestMethod().isEmpty()) {
+            throw new ParameterResolutionException("Соединение с БД внедряется только в тест и @BeforeEach/@AfterEach");
+        }
+        return extensionContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(TestConnection.class, key -> TestConnection.open(), TestConnection.class)
+                .connection;
+    }
+
+    private static final class TestConnection implements ExtensionContext.Store.CloseableResource {
+        private final Connection connection;
+
+        private TestConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        static TestConnection open() {
+            Tenant tenant = Tenant.current();
+            try {
+                Connection connection = tenant.connect(ConfigRegistry.get(DbConfig.class));
+                tenant.clear(connection);
+                return new TestConnection(connection);
+            } catch (SQLException e) {
+                throw new ParameterResolutionException("Не удалось подключиться к схеме " + tenant.schema(), e);
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    private static final class Cleanup implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            Tenant.dropAll();
+        }
+    }
+}
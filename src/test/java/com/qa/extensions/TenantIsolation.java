@@ -0,0 +1,21 @@
+package com.qa.extensions;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Изоляция данных БД по рабочим потокам: тест получает {@link com.qa.utils.Tenant} и
+ * {@code java.sql.Connection} со схемой своего потока, таблицы которой очищены перед тестом.
+ * Схемы удаляются в конце прогона.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Inherited
+@ExtendWith(TenantExtension.class)
+public @interface TenantIsolation {
+}
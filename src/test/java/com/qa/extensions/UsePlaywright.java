@@ -0,0 +1,29 @@
+package com.qa.extensions;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Внедрение {@code Page}, {@code BrowserContext}, {@code Browser}, {@code APIRequestContext}
+ * и {@link com.qa.utils.PageEvents} внедрённой страницы в параметры тестов и методов жизненного цикла.
+ * Браузер берётся из {@link com.qa.utils.BrowserPool}, закрытие ресурсов гарантирует расширение,
+ * см. {@link ResourceScope} и {@link Scoped}.
+ * Стартовый адрес страницы задаёт {@link StartPage}. Память и CPU браузеров на границах тестов
+ * собирает {@link TelemetryExtension}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+@ExtendWith({PlaywrightExtension.class, TelemetryExtension.class})
+public @interface UsePlaywright {
+    // Пусто - движок из конфига (browser=...)
+    String engine() default "";
+
+    // Пусто - base_url из конфига
+    String apiBaseUrl() default "";
+}
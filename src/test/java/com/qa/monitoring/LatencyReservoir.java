@@ -0,0 +1,56 @@
+package com.qa.monitoring;
+
+import java.util.Arrays;
+
+/**
+ * Последние N задержек проверки в заранее выделенном кольце: память не растёт со временем.
+ * Перцентили считаются по окну при чтении, счётчики {@code count}/{@code sum} - за всё время.
+ */
+public final class LatencyReservoir {
+    private final long[] window;
+    private int next;
+    private int size;
+    private long count;
+    private long sum;
+
+    public LatencyReservoir(int capacity) {
+        this.window = new long[capacity];
+    }
+
+    public synchronized void add(long millis) {
+        window[next] = millis;
+        next = (next + 1) % window.length;
+        size = Math.min(size + 1, window.length);
+        count++;
+        sum += millis;
+    }
+
+    public synchronized long count() {
+        return count;
+    }
+
+    public synchronized long sum() {
+        return sum;
+    }
+
+    /**
+     * Перцентили по окну для долей {@code quantiles} (0..1), пустое окно - NaN.
+     */
+    public double[] percentiles(double... quantiles) {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(window, size);
+        }
+        Arrays.sort(sorted);
+        double[] result = new double[quantiles.length];
+        for (int i = 0; i < quantiles.length; i++) {
+            if (sorted.length == 0) {
+                result[i] = Double.NaN;
+            } else {
+                int index = (int) Math.ceil(quantiles[i] * sorted.length) - 1;
+                result[i] = sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,27 @@
+package com.qa.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyReservoirTest {
+
+    @Test
+    void testPercentilesUseOnlyTheWindow() {
+        LatencyReservoir reservoir = new LatencyReservoir(100);
+        for (int i = 1; i <= 1000; i++) {
+            reservoir.add(i);
+        }
+
+        double[] p = reservoir.percentiles(0.5, 0.99);
+        assertEquals(950, p[0]);
+        assertEquals(999, p[1]);
+        assertEquals(1000, reservoir.count());
+        assertEquals(500500, reservoir.sum());
+    }
+
+    @Test
+    void testEmptyReservoirHasNoPercentiles() {
+        assertTrue(Double.isNaN(new LatencyReservoir(10).percentiles(0.5)[0]));
+    }
+}
@@ -0,0 +1,11 @@
+package com.qa.monitoring;
+
+/**
+ * Проверка для мониторинга. Выполняется на тёплой странице {@link MonitorSession},
+ * падение - любое исключение.
+ */
+public interface MonitorFlow {
+    String name();
+
+    void run(MonitorSession session) throws Exception;
+}
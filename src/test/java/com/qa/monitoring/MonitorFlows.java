@@ -0,0 +1,80 @@
+package com.qa.monitoring;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.Response;
+import com.qa.pages.LoginPage;
+import com.qa.utils.Urls;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Проверки из тестов (StatusCodeApiUiTest, логин), доступные мониторингу по имени:
+ * {@code status-<код>} и {@code login}.
+ */
+public final class MonitorFlows {
+
+    private MonitorFlows() {
+    }
+
+    public static List<MonitorFlow> parse(String names) {
+        List<MonitorFlow> flows = new ArrayList<>();
+        for (String name : names.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                flows.add(byName(trimmed));
+            }
+        }
+        return flows;
+    }
+
+    public static MonitorFlow byName(String name) {
+        if (name.equals("login")) {
+            return login("tomsmith", "SuperSecretPassword!");
+        }
+        if (name.startsWith("status-")) {
+            return statusCode(Integer.parseInt(name.substring("status-".length())));
+        }
+        throw new IllegalArgumentException("Неизвестная проверка: " + name);
+    }
+
+    // Код ответа API и UI совпадает с ожидаемым
+    public static MonitorFlow statusCode(int code) {
+        return new MonitorFlow() {
+            @Override
+            public String name() {
+                return "status-" + code;
+            }
+
+            @Override
+            public void run(MonitorSession session) {
+                APIResponse api = session.api().get("/status_codes/" + code);
+                if (api.status() != code) {
+                    throw new AssertionError("API вернул " + api.status() + ", ожидался " + code);
+                }
+                Response ui = session.page().navigate(Urls.of("/status_codes/" + code));
+                if (ui == null || ui.status() != code) {
+                    throw new AssertionError("UI вернул " + (ui == null ? "нет ответа" : ui.status())
+                            + ", ожидался " + code);
+                }
+            }
+        };
+    }
+
+    public static MonitorFlow login(String user, String pass) {
+        return new MonitorFlow() {
+            @Override
+            public String name() {
+                return "login";
+            }
+
+            @Override
+            public void run(MonitorSession session) {
+                LoginPage loginPage = new LoginPage(session.page()).navigate().login(user, pass);
+                if (!loginPage.getHeaderText().contains("Secure Area")) {
+                    throw new AssertionError("Авторизация не выполнена: " + loginPage.getHeaderText());
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.qa.monitoring;
+
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.qa.utils.BrowserPool;
+
+/**
+ * Тёплый контекст и страница одной проверки. Между итерациями чистятся cookies и страница
+ * сбрасывается на about:blank, браузер не перезапускается. Раз в {@code recycleEvery} итераций
+ * контекст пересоздаётся, чтобы память рендерера не росла за дни работы.
+ */
+public final class MonitorSession implements AutoCloseable {
+    private final String engine;
+    private final APIRequestContext api;
+    private final int recycleEvery;
+    private final double timeoutMs;
+    private BrowserContext context;
+    private Page page;
+    private long iterations;
+
+    public MonitorSession(String engine, APIRequestContext api, int recycleEvery, double timeoutMs) {
+        if (recycleEvery <= 0) {
+            throw new IllegalArgumentException("recycleEvery должен быть больше 0: " + recycleEvery);
+        }
+        this.engine = engine;
+        this.api = api;
+        this.recycleEvery = recycleEvery;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public Page page() {
+        if (page == null || page.isClosed()) {
+            if (context == null) {
+                context = BrowserPool.newContext(engine);
+                context.setDefaultTimeout(timeoutMs);
+            }
+            page = context.newPage();
+        }
+        return page;
+    }
+
+    public APIRequestContext api() {
+        return api;
+    }
+
+    /**
+     * Подготовка к следующей итерации.
+     */
+    void reset() {
+        iterations++;
+        if (context == null) {
+            return;
+        }
+        if (iterations % recycleEvery == 0 || page == null || page.isClosed()) {
+            closeContext();
+            return;
+        }
+        try {
+            context.clearCookies();
+            page.navigate("about:blank");
+        } catch (Exception e) {
+            // Страница или контекст сломаны, на следующей итерации создадутся заново
+            closeContext();
+        }
+    }
+
+    @Override
+    public void close() {
+        closeContext();
+    }
+
+    private void closeContext() {
+        if (context != null) {
+            try {
+                context.close();
+            } catch (Exception e) {
+                // Контекст мог закрыться вместе с упавшим браузером
+            }
+        }
+        context = null;
+        page = null;
+    }
+}
@@ -0,0 +1,287 @@
+package com.qa.monitoring;
+
+import com.microsoft.playwright.APIRequest;
+import com.microsoft.playwright.APIRequestContext;
+import com.qa.config.ConfigRegistry;
+import com.qa.config.EnvConfig;
+import com.qa.utils.BrowserPool;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Режим синтетического мониторинга: проверки из тестов гоняются по расписанию против окружения.
+ * <p>
+ * Запуск: {@code env=prod mvn exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.qa.monitoring.SyntheticMonitor -Dmonitor.flows=status-200,status-404,login}.
+ * Все проверки выполняются в одном потоке (Playwright не потокобезопасен) на одном браузере
+ * из {@link BrowserPool}, у каждой проверки свой тёплый контекст. Результаты и перцентили задержек
+ * отдаются в формате Prometheus на {@code http://localhost:<monitor.port>/metrics}, текстовая
+ * сводка с последними ошибками - на {@code /status}, при заданном {@code monitor.metrics.file}
+ * те же метрики пишутся в файл (для node_exporter textfile collector).
+ * <p>
+ * Параметры (system properties): {@code monitor.flows}, {@code monitor.interval.seconds} (60),
+ * {@code monitor.port} (9464, 0 - без HTTP), {@code monitor.metrics.file}, {@code monitor.window}
+ * (1000 последних задержек), {@code monitor.recycle} (500 итераций на контекст),
+ * {@code monitor.timeout.ms} (30000).
+ */
+public final class SyntheticMonitor {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final List<MonitorFlow> flows;
+    private final Map<String, FlowStats> stats = new LinkedHashMap<>();
+    private final Map<String, MonitorSession> sessions = new LinkedHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "synthetic-monitor");
+        thread.setDaemon(false);
+        return thread;
+    });
+    private final int window = Integer.getInteger("monitor.window", 1000);
+    private final int recycle = Integer.getInteger("monitor.recycle", 500);
+    private final double timeoutMs = Double.parseDouble(System.getProperty("monitor.timeout.ms", "30000"));
+    private final Path metricsFile;
+    private APIRequestContext api;
+    private HttpServer server;
+
+    public SyntheticMonitor(List<MonitorFlow> flows, Path metricsFile) {
+        if (recycle <= 0) {
+            throw new IllegalArgumentException("monitor.recycle должен быть больше 0: " + recycle);
+        }
+        if (window <= 0) {
+            throw new IllegalArgumentException("monitor.window должен быть больше 0: " + window);
+        }
+        this.flows = flows;
+        this.metricsFile = metricsFile;
+        for (MonitorFlow flow : flows) {
+            stats.put(flow.name(), new FlowStats(window));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<MonitorFlow> flows = MonitorFlows.parse(System.getProperty("monitor.flows", "status-200,status-404,login"));
+        String file = System.getProperty("monitor.metrics.file", "");
+        SyntheticMonitor monitor = new SyntheticMonitor(flows, file.isEmpty() ? null : Paths.get(file));
+        monitor.start(Integer.getInteger("monitor.port", 9464), Long.getLong("monitor.interval.seconds", 60));
+        Runtime.getRuntime().addShutdownHook(new Thread(monitor::stop, "synthetic-monitor-shutdown"));
+    }
+
+    public void start(int port, long intervalSeconds) throws IOException {
+        if (port > 0) {
+            server = HttpServer.create(new InetSocketAddress(port), 0);
+            server.createContext("/metrics", exchange -> respond(exchange, "text/plain; version=0.0.4", prometheus()));
+            server.createContext("/status", exchange -> respond(exchange, "text/plain", status()));
+            server.start();
+            System.out.println("Метрики мониторинга: http://localhost:" + port + "/metrics");
+        }
+        if (intervalSeconds <= 0) {
+            throw new IllegalArgumentException("monitor.interval.seconds должен быть больше 0: " + intervalSeconds);
+        }
+        scheduler.scheduleWithFixedDelay(this::iteration, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        try {
+            // Контексты закрываются в том же потоке, где создавались
+            scheduler.submit(() -> {
+                sessions.values().forEach(MonitorSession::close);
+                if (api != null) {
+                    api.dispose();
+                }
+                BrowserPool.closeCurrentWorker();
+            }).get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("Мониторинг остановлен некорректно: " + e.getMessage());
+        }
+        scheduler.shutdownNow();
+    }
+
+    // Выполняется только в потоке планировщика. Исключение, вылетевшее из задачи
+    // scheduleWithFixedDelay, молча отменяет все следующие запуски, поэтому наружу не выходит ничего
+    void iteration() {
+        try {
+            for (MonitorFlow flow : flows) {
+                runFlow(flow);
+            }
+            if (metricsFile != null) {
+                writeMetricsFile();
+            }
+        } catch (Throwable t) {
+            System.err.println("Сбой итерации мониторинга: " + t);
+        }
+    }
+
+    private void runFlow(MonitorFlow flow) {
+        MonitorSession session = null;
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            // Сбой создания сессии (браузер не запустился) - такой же провал проверки
+            String engine = ConfigRegistry.get(EnvConfig.class).browser();
+            session = sessions.computeIfAbsent(flow.name(),
+                    name -> new MonitorSession(engine, api(), recycle, timeoutMs));
+            flow.run(session);
+        } catch (Throwable t) {
+            error = t;
+        }
+        stats.get(flow.name()).record((System.nanoTime() - start) / 1_000_000, error);
+        if (session != null) {
+            try {
+                session.reset();
+            } catch (Throwable t) {
+                sessions.remove(flow.name());
+                session.close();
+            }
+        }
+    }
+
+    String prometheus() {
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP synthetic_flow_up Result of the last run (1 - passed, 0 - failed)\n");
+        out.append("# TYPE synthetic_flow_up gauge\n");
+        stats.forEach((name, s) -> out.append("synthetic_flow_up{flow=\"").append(name).append("\"} ")
+                .append(s.lastPassed() ? 1 : 0).append('\n'));
+        out.append("# HELP synthetic_flow_runs_total Runs by result\n");
+        out.append("# TYPE synthetic_flow_runs_total counter\n");
+        stats.forEach((name, s) -> {
+            out.append("synthetic_flow_runs_total{flow=\"").append(name).append("\",result=\"passed\"} ")
+                    .append(s.passed()).append('\n');
+            out.append("synthetic_flow_runs_total{flow=\"").append(name).append("\",result=\"failed\"} ")
+                    .append(s.failed()).append('\n');
+        });
+        out.append("# HELP synthetic_flow_latency_ms Run latency, quantiles over the last ")
+                .append(window).append(" runs\n");
+        out.append("# TYPE synthetic_flow_latency_ms summary\n");
+        stats.forEach((name, s) -> {
+            double[] values = s.latency().percentiles(QUANTILES);
+            for (int i = 0; i < QUANTILES.length; i++) {
+                out.append("synthetic_flow_latency_ms{flow=\"").append(name).append("\",quantile=\"")
+                        .append(QUANTILES[i]).append("\"} ").append(format(values[i])).append('\n');
+            }
+            out.append("synthetic_flow_latency_ms_sum{flow=\"").append(name).append("\"} ")
+                    .append(s.latency().sum()).append('\n');
+            out.append("synthetic_flow_latency_ms_count{flow=\"").append(name).append("\"} ")
+                    .append(s.latency().count()).append('\n');
+        });
+        out.append("# HELP synthetic_flow_last_run_timestamp_seconds Time of the last run\n");
+        out.append("# TYPE synthetic_flow_last_run_timestamp_seconds gauge\n");
+        stats.forEach((name, s) -> out.append("synthetic_flow_last_run_timestamp_seconds{flow=\"").append(name)
+                .append("\"} ").append(s.lastRunMillis() / 1000).append('\n'));
+        return out.toString();
+    }
+
+    String status() {
+        StringBuilder out = new StringBuilder();
+        stats.forEach((name, s) -> {
+            double[] p = s.latency().percentiles(QUANTILES);
+            out.append(String.format(Locale.ROOT, "%-12s %s passed=%d failed=%d p50=%s p90=%s p99=%s мс%n",
+                    name, s.lastPassed() ? "OK  " : "FAIL", s.passed(), s.failed(),
+                    format(p[0]), format(p[1]), format(p[2])));
+            if (s.lastError() != null) {
+                out.append("    последняя ошибка: ").append(s.lastError()).append('\n');
+            }
+        });
+        return out.toString();
+    }
+
+    private APIRequestContext api() {
+        if (api == null) {
+            api = BrowserPool.playwright().request().newContext(new APIRequest.NewContextOptions()
+                    .setBaseURL(ConfigRegistry.get(EnvConfig.class).baseUrl().replaceAll("/$", ""))
+                    .setTimeout(timeoutMs));
+        }
+        return api;
+    }
+
+    private void writeMetricsFile() {
+        try {
+            Path tmp = metricsFile.resolveSibling(metricsFile.getFileName() + ".tmp");
+            Files.writeString(tmp, prometheus(), StandardCharsets.UTF_8);
+            Files.move(tmp, metricsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Не удалось записать метрики мониторинга: " + e.getMessage());
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "NaN" : String.valueOf((long) value);
+    }
+
+    private static final class FlowStats {
+        private final LatencyReservoir latency;
+        private volatile boolean lastPassed;
+        private volatile long lastRunMillis;
+        private volatile String lastError;
+        private volatile long passed;
+        private volatile long failed;
+
+        FlowStats(int window) {
+            this.latency = new LatencyReservoir(window);
+        }
+
+        // Пишет только поток планировщика, HTTP-поток читает
+        void record(long millis, Throwable error) {
+            latency.add(millis);
+            lastRunMillis = System.currentTimeMillis();
+            lastPassed = error == null;
+            if (error == null) {
+                passed++;
+            } else {
+                failed++;
+                String message = String.valueOf(error.getMessage()).replace('\n', ' ');
+                lastError = error.getClass().getSimpleName() + ": "
+                        + (message.length() > 300 ? message.substring(0, 300) + "..." : message);
+            }
+        }
+
+        LatencyReservoir latency() {
+            return latency;
+        }
+
+        boolean lastPassed() {
+            return lastPassed;
+        }
+
+        long lastRunMillis() {
+            return lastRunMillis;
+        }
+
+        String lastError() {
+            return lastError;
+        }
+
+        long passed() {
+            return passed;
+        }
+
+        long failed() {
+            return failed;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.qa.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyntheticMonitorTest {
+
+    @Test
+    void testZeroRecycleIsRejectedAtStartup() {
+        System.setProperty("monitor.recycle", "0");
+        try {
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> new SyntheticMonitor(List.of(), null));
+            assertTrue(error.getMessage().contains("monitor.recycle"));
+        } finally {
+            System.clearProperty("monitor.recycle");
+        }
+    }
+
+    @Test
+    void testSessionRejectsZeroRecycle() {
+        assertThrows(IllegalArgumentException.class, () -> new MonitorSession("chromium", null, 0, 1000));
+    }
+}
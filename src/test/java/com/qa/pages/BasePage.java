@@ -1,11 +1,27 @@
 package com.qa.pages;
 
 import com.microsoft.playwright.Page;
+import com.qa.utils.PageElements;
+import com.qa.utils.Urls;
 
 public abstract class BasePage {
     protected final Page page;
 
     public BasePage(Page page) {
         this.page = page;
+        PageElements.init(this, page);
     }
-}
\ No newline at end of file
+
+    // Адрес страницы из base_url и @PagePath
+    public String url() {
+        PagePath path = getClass().getAnnotation(PagePath.class);
+        if (path == null) {
+            throw new IllegalStateException(getClass().getSimpleName() + " не помечен @PagePath");
+        }
+        return Urls.of(path.value());
+    }
+
+    protected void open() {
+        page.navigate(url());
+    }
+}
@@ -1,5 +1,6 @@
 package com.qa.pages;
 
+import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.qa.components.DragDropArea;
 import io.qameta.allure.Step;
@@ -8,9 +9,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 
 
+@PagePath("/drag_and_drop")
 public class DragDropPage extends BasePage{
     private DragDropArea dragDropArea;
 
+    @Locate("h3")
+    private Locator header;
+
     String headerText;
 
     public DragDropPage(Page page){
@@ -27,14 +32,14 @@ public class DragDropPage extends BasePage{
     @Step
     @DisplayName("Навигация на страницу drag and drop")
     public DragDropPage navigationToDragDropPage(){
-        page.navigate("https://the-internet.herokuapp.com/drag_and_drop");
+        open();
         return this;
     }
 
     @Step
     @DisplayName("проверка, что текущая страница drag and drop page")
     public DragDropPage isDragDropPage(){
-        headerText = page.locator("h3").textContent();
+        headerText = header.textContent();
         assertThat(headerText).isEqualTo("Drag and Drop");
         return this;
     }
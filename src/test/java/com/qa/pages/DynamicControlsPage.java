@@ -3,53 +3,52 @@ package com.qa.pages;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.options.WaitForSelectorState;
+import com.qa.utils.DomSnapshot;
 
-public class DynamicControlsPage {
-    private final Page page;
+@PagePath("/dynamic_controls")
+public class DynamicControlsPage extends BasePage {
+    private static final String CHECKBOX = "#checkbox";
+    private static final String MESSAGE = "#message";
 
-    public DynamicControlsPage(Page page){
-        this.page = page;
-    }
+    @Locate(CHECKBOX)
+    private Locator checkBox;
 
-    private Locator getCheckBox(){
-        return page.locator("#checkbox");
-    }
+    @Locate("button:has-text('Remove')")
+    private Locator removeButton;
 
-    private Locator getRemoveButton(){
-        return page.locator("button:has-text('Remove')");
-    }
+    @Locate("button:has-text('Add')")
+    private Locator addButton;
 
-    private Locator getAddButton(){
-        return page.locator("button:has-text('Add')");
-    }
+    @Locate(MESSAGE)
+    private Locator message;
 
-    private Locator getMessage(){
-        return page.locator("#message");
+    public DynamicControlsPage(Page page){
+        super(page);
     }
 
     //Действия
     public DynamicControlsPage navigate(){
-        page.navigate("https://the-internet.herokuapp.com/dynamic_controls");
+        open();
         return this;
     }
 
     public DynamicControlsPage clickRemoveButton(){
-        getRemoveButton().click();
+        removeButton.click();
         return this;
     }
 
     public DynamicControlsPage clickAddButton(){
-        getAddButton().click();
+        addButton.click();
         return this;
     }
     public DynamicControlsPage checkboxClick(){
-        getCheckBox().click();
+        checkBox.click();
         return this;
     }
 
     //Состояния
     public boolean isCheckboxVisible(){
-        return getCheckBox().isVisible();
+        return checkBox.isVisible();
     }
 
     public DynamicControlsPage verifyCheckboxVisible(boolean expected){
@@ -62,27 +61,38 @@ public class DynamicControlsPage {
         return this;
     }
 
+    // Видимость чекбокса и текст сообщения проверяются по одному снимку DOM
+    public DynamicControlsPage verifyState(boolean checkboxVisible, String expectedMessage){
+        DomSnapshot snapshot = DomSnapshot.of(page)
+                .optionalElement("checkbox", CHECKBOX)
+                .element("message", MESSAGE)
+                .captureWhenAttached();
+        assert snapshot.isVisible("checkbox") == checkboxVisible;
+        assert expectedMessage.equals(snapshot.text("message"));
+        return this;
+    }
+
     //Ожидания
     public DynamicControlsPage waitForCheckboxToDisappear(){
-        getCheckBox().waitFor(new Locator.WaitForOptions()
+        checkBox.waitFor(new Locator.WaitForOptions()
                 .setState(WaitForSelectorState.HIDDEN));
         return this;
     }
 
     public DynamicControlsPage waitForCheckboxToAppear(){
-        getCheckBox().waitFor(new Locator.WaitForOptions()
+        checkBox.waitFor(new Locator.WaitForOptions()
                 .setState(WaitForSelectorState.VISIBLE));
         return this;
     }
 
     public DynamicControlsPage waitForMessage(){
-        getMessage().waitFor(new Locator.WaitForOptions()
+        message.waitFor(new Locator.WaitForOptions()
                 .setState(WaitForSelectorState.VISIBLE));
         return this;
     }
 
     //Получение данных
     public String getMessageText(){
-        return getMessage().textContent();
+        return message.textContent();
     }
 }
@@ -0,0 +1,16 @@
+package com.qa.pages;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Селектор для поля типа {@link com.microsoft.playwright.Locator} в page object или компоненте.
+ * Поле заполняется локатором страницы при создании объекта, см. {@link com.qa.utils.PageElements}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Locate {
+    String value();
+}
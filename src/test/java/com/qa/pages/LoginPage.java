@@ -0,0 +1,41 @@
+package com.qa.pages;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+
+@PagePath("/login")
+public class LoginPage extends BasePage {
+
+    @Locate("#username")
+    private Locator username;
+
+    @Locate("#password")
+    private Locator password;
+
+    @Locate("button[type='submit']")
+    private Locator submitButton;
+
+    @Locate("h2")
+    private Locator header;
+
+    public LoginPage(Page page) {
+        super(page);
+    }
+
+    public LoginPage navigate() {
+        open();
+        return this;
+    }
+
+    public LoginPage login(String user, String pass) {
+        username.fill(user);
+        password.fill(pass);
+        submitButton.click();
+        page.waitForURL("**/secure");
+        return this;
+    }
+
+    public String getHeaderText() {
+        return header.textContent();
+    }
+}
@@ -0,0 +1,15 @@
+package com.qa.pages;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Путь страницы относительно {@code base_url}, например {@code "/drag_and_drop"}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PagePath {
+    String value();
+}
@@ -1,50 +1,38 @@
 package com.qa.tests;
 
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
-import com.aventstack.extentreports.MediaEntityBuilder;
 import com.aventstack.extentreports.Status;
-import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.microsoft.playwright.*;
+import com.qa.extensions.CaptureEvents;
+import com.qa.extensions.UsePlaywright;
+import com.qa.utils.ArtifactStore;
+import com.qa.utils.ExtentJournal;
+import com.qa.utils.PageEvents;
+import com.qa.utils.Waits;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 import com.microsoft.playwright.options.WaitUntilState;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @Epic("Тесты для the-internet.herokuapp.com")
 @Feature("Работа с JavaScript-алертами")
+@CaptureEvents
+@UsePlaywright
 public class AdvancedReportingTest {
-    private static ExtentReports extent;
-    private Browser browser;
-    private Playwright playwright;
     private Page page;
-    private ExtentTest test;
-
-    @BeforeAll
-    static void setupExtent() {
-        ExtentSparkReporter reporter = new ExtentSparkReporter("target/extent-report.html");
-        reporter.config().setDocumentTitle("Playwright Extent Report");
-        extent = new ExtentReports();
-        extent.attachReporter(reporter);
-    }
+    private PageEvents events;
+    private ExtentJournal.TestLog test;
 
     @BeforeEach
-    void setUp(TestInfo testInfo) {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-                .setHeadless(true));
-        BrowserContext context = browser.newContext();
-        page = context.newPage();
-
-        test = extent.createTest(testInfo.getDisplayName());
+    void setUp(TestInfo testInfo, Page page, PageEvents events) {
+        this.page = page;
+        this.events = events;
+
+        // Журнал пишется на диск по ходу прогона, HTML собирается при завершении JVM
+        test = ExtentJournal.get().createTest(testInfo.getDisplayName());
     }
 
     @Test
@@ -77,34 +65,22 @@ public class AdvancedReportingTest {
 
     @Step("Обработать JS Alert")
     private String foJsAlert() {
-        CompletableFuture<String> alertMessageFuture = new CompletableFuture<>();
-
-        // Тут устанавливаем обработчик диалога
-        page.onDialog(dialog -> {
-            String message = dialog.message();
-            alertMessageFuture.complete(message);
-            dialog.accept();
-        });
-
-        // Тут кликаем по кнопке, которая вызывает alert
-        page.click("button[onclick='jsAlert()']");
-        logExtent(Status.INFO, "Клик по кнопке JS Alert выполнен");
-
-        // Тут ожидаем результат с таймаутом
+        // Алерт принимается прямо в обработчике, ожидание идёт в потоке теста без future
         try {
-            String alertMessage = alertMessageFuture.get(5, TimeUnit.SECONDS);
-            logExtent(Status.INFO, "Получено сообщение алерта: " + alertMessage);
-            return alertMessage;
-        } catch (Exception e) {
+            PageEvents.DialogEvent alert = events.expectDialog(() -> page.click("button[onclick='jsAlert()']"));
+            logExtent(Status.INFO, "Клик по кнопке JS Alert выполнен");
+            logExtent(Status.INFO, "Получено сообщение алерта: " + alert.message());
+            return alert.message();
+        } catch (TimeoutError e) {
             logExtent(Status.FAIL, "Таймаут ожидания алерта: " + e.getMessage());
-            throw new RuntimeException("Alert не появился в течение 5 секунд", e);
+            throw new RuntimeException("Alert не появился за " + (long) events.timeoutMs() + " мс", e);
         }
     }
 
     @Step("Проверить текст результата")
     private void verifyResultText() {
-        page.waitForCondition(() ->
-                page.locator("#result").textContent().contains("successfully"));
+        // Условие проверяется в браузере, тест просыпается сразу после изменения #result
+        Waits.forText(page, "#result", "successfully");
 
         String resultText = page.locator("#result").textContent();
         assertEquals("You successfully clicked an alert", resultText,
@@ -113,14 +89,12 @@ public class AdvancedReportingTest {
     }
 
     private void captureSuccessScreenshot() {
-        String screenshotName = "success-screenshot.png";
-        Path screenshotPath = Paths.get("allure-results", screenshotName);
+        // Делаем скриншот, одинаковые скриншоты хранилище держит в одном экземпляре
+        byte[] screenshot = page.screenshot();
+        ArtifactStore.Artifact artifact = ArtifactStore.get()
+                .put("AdvancedReportingTest", "success-screenshot.png", "image/png", screenshot);
 
-        // Делаем скриншот
-        byte[] screenshot = page.screenshot(new Page.ScreenshotOptions()
-                .setPath(screenshotPath));
-
-        logExtent(Status.INFO, "Скриншот успешного выполнения сохранен: " + screenshotPath);
+        logExtent(Status.INFO, "Скриншот успешного выполнения сохранен: " + artifact.path());
 
         // Для Allure
         try (InputStream screenshotStream = new ByteArrayInputStream(screenshot)) {
@@ -129,10 +103,8 @@ public class AdvancedReportingTest {
             logExtent(Status.WARNING, "Не удалось добавить скриншот в Allure: " + e.getMessage());
         }
 
-        // Для ExtentReports
-        String base64Screenshot = java.util.Base64.getEncoder().encodeToString(screenshot);
-        test.pass("Скриншот успешного выполнения",
-                MediaEntityBuilder.createScreenCaptureFromBase64String(base64Screenshot).build());
+        // Для ExtentReports - ссылка на файл вместо base64
+        test.screenshot(Status.PASS, "Скриншот успешного выполнения", artifact.path());
     }
 
     private void logExtent(Status status, String message) {
@@ -150,40 +122,15 @@ public class AdvancedReportingTest {
         }
 
         // Логирование ошибки в ExtentReports
-        String screenshotName = "error-screenshot.png";
-        Path screenshotPath = Paths.get("allure-results", screenshotName);
-
         try {
-            page.screenshot(new Page.ScreenshotOptions()
-                    .setPath(screenshotPath));
+            ArtifactStore.Artifact artifact = ArtifactStore.get()
+                    .put("AdvancedReportingTest", "error-screenshot.png", "image/png", failureScreenshot);
 
-            String base64Screenshot = java.util.Base64.getEncoder().encodeToString(failureScreenshot);
-            test.fail("Скриншот при ошибке",
-                    MediaEntityBuilder.createScreenCaptureFromBase64String(base64Screenshot).build());
+            test.screenshot(Status.FAIL, "Скриншот при ошибке", artifact.path());
             test.fail(e);
 
         } catch (Exception ex) {
             logExtent(Status.WARNING, "Не удалось сохранить скриншот ошибки: " + ex.getMessage());
         }
     }
-
-    @AfterEach
-    void tearDownEach() {
-        if (page != null) {
-            page.close();
-        }
-        if (browser != null) {
-            browser.close();
-        }
-        if (playwright != null) {
-            playwright.close();
-        }
-    }
-
-    @AfterAll
-    static void tearDown() {
-        if (extent != null) {
-            extent.flush();
-        }
-    }
 }
\ No newline at end of file
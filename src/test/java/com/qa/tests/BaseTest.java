@@ -1,30 +1,22 @@
 package com.qa.tests;
 
 import com.microsoft.playwright.Page;
+import com.qa.extensions.CaptureEvents;
+import com.qa.extensions.UsePlaywright;
 import com.qa.utils.PageFactory;
-import com.qa.utils.PlaywrightManager;
 import org.junit.jupiter.api.*;
 
+@CaptureEvents
+@UsePlaywright
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class BaseTest {
     protected PageFactory pageFactory;
     protected Page page;
 
+    // Контекст и страница свои у каждого теста, закрывает их расширение
     @BeforeEach
-    public void setUp() {
-        page = PlaywrightManager.createNewPage();
+    public void setUp(Page page) {
+        this.page = page;
         pageFactory = new PageFactory(page);
     }
-
-    @AfterEach
-    public void tearDown() {
-        if (page != null) {
-            page.close();
-        }
-    }
-
-    @AfterAll
-    public static void tearDownAll() {
-        PlaywrightManager.closeBrowser();
-    }
-}
\ No newline at end of file
+}
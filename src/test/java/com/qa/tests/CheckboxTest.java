@@ -1,8 +1,9 @@
 package com.qa.tests;
 
 import com.microsoft.playwright.*;
+import com.qa.extensions.UsePlaywright;
+import com.qa.utils.DomSnapshot;
 import io.qameta.allure.*;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,10 +12,10 @@ import java.io.ByteArrayInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@UsePlaywright
 public class CheckboxTest {
-    private Playwright playwright;
-    private Browser browser;
-    private BrowserContext context;
+    private static final String CHECKBOXES = "#checkboxes input[type='checkbox']";
+
     private Page page;
 
     private Locator checkbox1;
@@ -22,15 +23,11 @@ public class CheckboxTest {
 
     @BeforeEach
     @Step("Инициализация браузера и контекста")
-    void setUp(){
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-                .setHeadless(true));
-        context = browser.newContext();
-        page = context.newPage();
+    void setUp(Page page){
+        this.page = page;
 
-        checkbox1 = page.locator("#checkboxes input[type='checkbox']").first();
-        checkbox2 = page.locator("#checkboxes input[type='checkbox']").last();
+        checkbox1 = page.locator(CHECKBOXES).first();
+        checkbox2 = page.locator(CHECKBOXES).last();
     }
     @Test
     @Story("Проверка работы чекбоксов")
@@ -71,8 +68,9 @@ public class CheckboxTest {
     }
     @Step("Проверка начального состояния чекбоксов")
     private void verifyInitialState(){
-        assertFalse(checkbox1.isChecked());
-        assertTrue(checkbox2.isChecked());
+        checkboxesSnapshot()
+                .assertChecked("checkbox1", false)
+                .assertChecked("checkbox2", true);
     }
 
     @Step("Изменение состояния чекбоксов")
@@ -82,16 +80,17 @@ public class CheckboxTest {
     }
     @Step("Проверка изменения состояния чекбоксов")
     private void verifyToggledState(){
-        assertTrue(checkbox1.isChecked());
-        assertFalse(checkbox2.isChecked());
+        checkboxesSnapshot()
+                .assertChecked("checkbox1", true)
+                .assertChecked("checkbox2", false);
     }
 
-    @AfterEach
-    @Step("Закрытие ресурсов")
-    void tearDown(){
-        context.close();
-        browser.close();
-        playwright.close();
+    // Оба чекбокса читаются за один RPC
+    private DomSnapshot checkboxesSnapshot(){
+        return DomSnapshot.of(page)
+                .element("checkbox1", CHECKBOXES, 0)
+                .element("checkbox2", CHECKBOXES, -1)
+                .captureWhenAttached();
     }
 
 }
@@ -10,7 +10,7 @@ public class DragDropTests extends BaseTest {
 
     @BeforeEach
     public void openPage(){
-        dragDropPage = pageFactory.createDragDropPage();
+        dragDropPage = pageFactory.get(DragDropPage.class);
     }
 
     @Test
@@ -1,21 +1,22 @@
 package com.qa.tests;
 
-import com.microsoft.playwright.*;
+import com.microsoft.playwright.Page;
+import com.qa.extensions.StartPage;
+import com.qa.extensions.UsePlaywright;
 import com.qa.pages.DynamicControlsPage;
-import com.qa.utils.TestContext;
-import org.junit.jupiter.api.AfterEach;
+import com.qa.utils.PageFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+@UsePlaywright
+@StartPage(page = DynamicControlsPage.class)
 public class DynamicControlsTest {
-    private TestContext context;
     private DynamicControlsPage controlsPage;
 
     @BeforeEach
-    public void setup() {
-        context = new TestContext();
-        controlsPage = new DynamicControlsPage(context.getPage());
-        controlsPage.navigate();
+    public void setup(Page page) {
+        // Страница уже открыта на @PagePath DynamicControlsPage
+        controlsPage = new PageFactory(page).get(DynamicControlsPage.class);
     }
 
     @Test
@@ -24,19 +25,10 @@ public class DynamicControlsTest {
                 .verifyCheckboxVisible(true)
                 .clickRemoveButton()
                 .waitForCheckboxToDisappear()
-                .verifyCheckboxVisible(false)
-                .verifyMessage("It's gone!")
+                .verifyState(false, "It's gone!")
                 .clickAddButton()
                 .waitForCheckboxToAppear()
-                .verifyCheckboxVisible(true)
-                .verifyMessage("It's back!");
-
-    }
+                .verifyState(true, "It's back!");
 
-    @AfterEach
-    public void teardown() {
-        if (context != null) {
-            context.close();
-        }
     }
 }
\ No newline at end of file
@@ -2,33 +2,22 @@ package com.qa.tests;
 
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.WaitForSelectorState;
-import org.junit.jupiter.api.AfterEach;
+import com.qa.extensions.UsePlaywright;
+import com.qa.utils.ArtifactStore;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
-import java.nio.file.Paths;
-
+@UsePlaywright
 public class DynamicLoadingTest {
-    Playwright playwright;
-    Browser browser;
-    BrowserContext context;
-    Page page;
 
     @Test
-    void testDynamicLoading(){
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-                .setHeadless(true));
-        context = browser.newContext();
-
+    void testDynamicLoading(BrowserContext context, Page page){
         //Трассировка
         context.tracing().start(new Tracing.StartOptions()
                 .setScreenshots(true)
                 .setSnapshots(true)
                 .setSources(true));
 
-        page = context.newPage();
-
         //page.navigate("https://the-internet.herokuapp.com/dynamic_loading/1");
 
         Response responseAfterNavigate = page.waitForResponse(
@@ -56,34 +45,6 @@ public class DynamicLoadingTest {
         String text = page.locator("#finish").textContent();
         Assertions.assertTrue(text.contains("Hello World!"));
 
-        context.tracing().stop(new Tracing.StopOptions()
-                .setPath(Paths.get("trace-dynamic-loading-pz11.zip")));
-    }
-
-    @AfterEach
-    void tearDown(){
-        try {
-            if (page != null){
-                page.close();
-            }
-        } catch (Exception e){
-            // Игнор искоючения
-        }
-
-        try {
-            if (browser != null){
-                browser.close();
-            }
-        }catch (Exception e){
-            //Игнор исключения
-        }
-
-        try {
-            if (playwright !=null){
-                playwright.close();
-            }
-        }catch (Exception e){
-            //Игнор исключения
-        }
+        ArtifactStore.get().stopTrace(context, "DynamicLoadingTest", "trace-dynamic-loading-pz11.zip");
     }
 }
@@ -1,20 +1,14 @@
 package com.qa.tests;
 import com.microsoft.playwright.*;
+import com.qa.extensions.UsePlaywright;
 import org.junit.jupiter.api.*;
-import java.nio.file.Paths;
+import com.qa.utils.ArtifactStore;
 
+@UsePlaywright
 public class DynamicLoadingWithTraceTest {
-    Playwright playwright;
-    Browser browser;
-    BrowserContext context;
-    Page page;
 
     @Test
-    void testDynamicLoadingWithTrace() {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch();
-        context = browser.newContext();
-
+    void testDynamicLoadingWithTrace(BrowserContext context, Page page) {
         // Настройка трассировки
         context.tracing().start(new Tracing.StartOptions()
                 .setScreenshots(true)          // Захватывать скриншоты
@@ -22,8 +16,6 @@ public class DynamicLoadingWithTraceTest {
                 .setSources(true)              // Захватывать исходный код
         );
 
-        page = context.newPage();
-
         // Шаги теста
         page.navigate("https://the-internet.herokuapp.com/dynamic_loading/1");
         page.click("button"); // Клик на "Start"
@@ -32,15 +24,6 @@ public class DynamicLoadingWithTraceTest {
         page.locator("#finish").waitFor();
 
         // Сохранение трассировки
-        context.tracing().stop(new Tracing.StopOptions()
-                .setPath(Paths.get("trace-dynamic-loading.zip")));
-    }
-
-    @AfterEach
-    void tearDown() {
-        context.close();
-        browser.close();
-        playwright.close();
+        ArtifactStore.get().stopTrace(context, "DynamicLoadingWithTraceTest", "trace-dynamic-loading.zip");
     }
 }
-
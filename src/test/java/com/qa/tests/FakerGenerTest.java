@@ -2,74 +2,38 @@ package com.qa.tests;
 
 import com.github.javafaker.Faker;
 import com.microsoft.playwright.*;
+import com.qa.extensions.UsePlaywright;
+import com.qa.utils.MockBackend;
+import com.qa.utils.Waits;
 import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+@UsePlaywright
 public class FakerGenerTest {
 
     @Test
-    public void testDynamicContentWithMock() {
-        Playwright playwright = null;
-        Browser browser = null;
-        BrowserContext context = null;
-        Page page = null;
+    public void testDynamicContentWithMock(Page page) {
+        // Генерация случайного имени
+        Faker faker = new Faker();
+        String randomName = faker.name().fullName();
 
-        try {
-            playwright = Playwright.create();
-            browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-                    .setHeadless(true));
-            context = browser.newContext();
-            page = context.newPage();
-
-            // Генерация случайного имени
-            Faker faker = new Faker();
-            String randomName = faker.name().fullName();
-
-            // Мокирование API
-            page.route("**/dynamic_content", route -> {
-                String mockResponse = String.format(
-                        "[{\"id\":1,\"content\":\"%s\"}]",
-                        randomName
-                );
-
-                route.fulfill(new Route.FulfillOptions()
-                        .setStatus(200)
-                        .setContentType("application/json")
-                        .setBody(mockResponse)
-                );
-            });
+        try (MockBackend backend = MockBackend.start()) {
+            // Мокирование API: страница получает ответ локального мок-бэкенда
+            backend.get("/dynamic_content")
+                    .json(String.format("[{\"id\":1,\"content\":\"%s\"}]", randomName));
+            backend.route(page, "**/dynamic_content");
 
             page.navigate("https://the-internet.herokuapp.com/dynamic_content");
 
-            // Ждем загрузки страницы
-            page.waitForLoadState();
+            // Ждем появления имени в DOM вместо фиксированной паузы
+            Waits.forText(page, "body", randomName);
 
             // Проверяем наличие текста
             boolean nameFound = page.locator("text=" + randomName).isVisible();
 
-
             assertTrue(nameFound, "Имя должно отображаться на странице");
-
-            page.waitForTimeout(2000);
-
-        } catch (Exception e) {
-            System.err.println("Ошибка в тесте: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
-
-        } finally {
-            if (page != null) {
-                page.close();
-            }
-            if (context != null) {
-                context.close();
-            }
-            if (browser != null) {
-                browser.close();
-            }
-            if (playwright != null) {
-                playwright.close();
-            }
+            assertEquals(1, backend.requests("GET", "/dynamic_content").size());
         }
     }
-}
\ No newline at end of file
+}
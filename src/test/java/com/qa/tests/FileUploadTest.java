@@ -1,25 +1,40 @@
 package com.qa.tests;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.*;
+import com.qa.extensions.UsePlaywright;
+import com.qa.utils.GeneratedContent;
+import com.qa.utils.StreamingTransfer;
+import com.qa.utils.TransferChecksum;
+import com.qa.utils.UploadStubServer;
+import io.qameta.allure.Allure;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
 import java.util.Base64;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@UsePlaywright
 public class FileUploadTest {
-    static Playwright playwright;
+    // Размер файла для потоковых тестов, например -Dupload.size.mb=500
+    private static final long STREAM_SIZE = Long.getLong("upload.size.mb", 32) * 1024 * 1024;
+    private static final long SEED = 42;
+
     static APIRequestContext request;
+    static UploadStubServer stub;
 
     @BeforeAll
-    static void setup() {
-        playwright = Playwright.create();
-        request = playwright.request().newContext();
+    static void setup(APIRequestContext request) {
+        FileUploadTest.request = request;
+        stub = UploadStubServer.start();
     }
 
     @Disabled
@@ -68,6 +83,36 @@ public class FileUploadTest {
                 "Скачанный файл должен быть валидным PNG");
     }
 
+    @Test
+    void testStreamingUploadIntegrity() throws Exception {
+        // Файл генерируется на лету и не лежит ни в памяти, ни на диске
+        StreamingTransfer.Result upload = new StreamingTransfer().upload(stub.uri("/upload"),
+                () -> new GeneratedContent(STREAM_SIZE, SEED), STREAM_SIZE, "application/octet-stream");
+        Allure.addAttachment("Загрузка", "text/plain", upload.summary(), ".txt");
+
+        assertEquals(200, upload.status());
+        JsonNode received = new ObjectMapper().readTree(upload.body());
+        assertEquals(STREAM_SIZE, received.get("size").asLong());
+        assertEquals(upload.checksum().crc32c(), received.get("crc32c").asText());
+        assertEquals(upload.checksum().sha256(), received.get("sha256").asText(),
+                "Сервер получил не те байты, что были отправлены");
+    }
+
+    @Test
+    void testStreamingDownloadIntegrity(@TempDir Path dir) throws Exception {
+        Path target = dir.resolve("download.bin");
+        StreamingTransfer.Result download = new StreamingTransfer().download(
+                stub.uri("/download?size=" + STREAM_SIZE + "&seed=" + SEED), target);
+        Allure.addAttachment("Скачивание", "text/plain", download.summary(), ".txt");
+
+        assertEquals(200, download.status());
+        assertEquals("application/octet-stream", download.contentType());
+        // Ожидаемые суммы - по такому же сгенерированному потоку, файл на диске - через mmap
+        TransferChecksum.Result expected = TransferChecksum.of(new GeneratedContent(STREAM_SIZE, SEED));
+        assertEquals(expected, download.checksum());
+        assertEquals(expected, TransferChecksum.of(target));
+    }
+
     private byte[] createTestPng(int width, int height) {
         try {
             BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
@@ -110,7 +155,6 @@ public class FileUploadTest {
 
     @AfterAll
     static void tearDownAll() {
-        if (request != null) request.dispose();
-        if (playwright != null) playwright.close();
+        if (stub != null) stub.close();
     }
 }
\ No newline at end of file
@@ -1,61 +1,54 @@
 package com.qa.tests;
 
 import com.microsoft.playwright.*;
-import com.microsoft.playwright.options.WaitForSelectorState;
 import com.microsoft.playwright.options.WaitUntilState;
+import com.qa.extensions.UsePlaywright;
+import com.qa.utils.TabFanOut;
+import com.qa.utils.Urls;
 import org.junit.jupiter.api.*;
 
+import java.util.List;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@UsePlaywright
 public class HoverTest {
-    static Playwright playwright;
-    static Browser browser;
-    BrowserContext context;
-    Page page;
-
-    @BeforeAll
-    static void setupClass(){
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(
-                new BrowserType.LaunchOptions()
-                        .setHeadless(true)
-        );
-    }
-
-    @BeforeEach
-    void setup(){
-        context = browser.newContext();
-        page = context.newPage();
-    }
 
+    // Контекст и страница на тест, браузер общий для рабочего потока
     @Test
-    void testHoverProfiles(){
-        page.navigate("https://the-internet.herokuapp.com/hovers",
+    void testHoverProfiles(BrowserContext context, Page page){
+        page.navigate(Urls.of("/hovers"),
                 new Page.NavigateOptions().setWaitUntil(WaitUntilState.NETWORKIDLE));
 
-        Locator figures = page.locator(".figure");
-        int count = figures.count();
+        int count = page.locator(".figure").count();
+
+        // Каждый профиль проверяется на своей вкладке того же контекста, без goBack
+        List<TabFanOut.SubCheck<String>> checks = IntStream.range(0, count)
+                .mapToObj(this::profileCheck)
+                .toList();
+
+        TabFanOut.run(context, count, checks).assertAllPassed();
+    }
 
-        for (int i = 0; i < count; i++){
-            System.out.println("Тестируем профиль " + (i + 1));
+    private TabFanOut.SubCheck<String> profileCheck(int index){
+        return TabFanOut.navigate(Urls.of("/hovers"), tab -> {
+            System.out.println("Тестируем профиль " + (index + 1));
 
-            Locator figure = figures.nth(i);
+            Locator figure = tab.locator(".figure").nth(index);
 
             figure.hover();
 
             Locator profileLink = figure.locator("text=View profile");
             assertTrue(profileLink.isVisible());
 
-            page.waitForLoadState();
-
-            Response response = page.waitForResponse(
+            tab.waitForResponse(
                     Pattern.compile(".*/users/.*"),
                     ()-> profileLink.click()
             );
 
-            String currentUrl = page.url();
+            String currentUrl = tab.url();
             assertTrue(currentUrl.contains("/users/"));
 
             String[] urlParts = currentUrl.split("/users/");
@@ -64,26 +57,7 @@ public class HoverTest {
             String userId = urlParts[1].replace("/", "").split("\\?")[0];
             assertTrue(userId.matches("\\d+"),
                     "получен ID " + userId);
-
-            page.goBack();
-
-            page.waitForSelector(".figure",
-                    new Page.WaitForSelectorOptions().setState(WaitForSelectorState.VISIBLE));
-        }
-    }
-    @AfterEach
-    void teardown(){
-        if (context != null){
-            context.close();
-        }
-    }
-    @AfterAll
-    static void teardownClass(){
-        if (browser != null){
-            browser.close();
-        }
-        if (playwright != null){
-            playwright.close();
-        }
+            return userId;
+        });
     }
 }
@@ -1,66 +1,53 @@
 package com.qa.tests;
 
-import com.microsoft.playwright.*;
-import com.qa.config.DbConfig;
-import org.aeonbits.owner.ConfigFactory;
+import com.microsoft.playwright.Page;
+import com.qa.extensions.TenantIsolation;
+import com.qa.extensions.UsePlaywright;
 import org.junit.jupiter.api.*;
 import java.sql.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+@UsePlaywright
+@TenantIsolation
 public class LoginDbTest {
     private Connection connection;
     private Page page;
-    private Browser browser;
-    private Playwright playwright;
-    private static DbConfig dbConfig;
-
-    @BeforeAll
-    static void loadConfig() {
-        dbConfig = ConfigFactory.create(DbConfig.class, System.getProperties());
-    }
+    private String username;
 
     @BeforeEach
-    void setup() throws SQLException {
-        // Создание пользователя в БД
-        connection = DriverManager.getConnection(
-                dbConfig.dbUrl(),
-                dbConfig.dbUser(),
-                dbConfig.dbPassword()
-        );
-
-        try (Statement stmt = connection.createStatement()) {
-            stmt.executeUpdate("DELETE FROM users");
-            stmt.executeUpdate(
-                    "INSERT INTO users (username, password) VALUES ('tomsmith', 'SuperSecretPassword!')"
-            );
+    void setup(Page page, Connection connection) throws SQLException {
+        // Создание пользователя в схеме потока: таблица users своя, поэтому потоки не мешают друг другу.
+        // Префикс потока не нужен: демо-сайт знает только своего tomsmith и нашу БД не читает
+        this.connection = connection;
+        this.page = page;
+        username = "tomsmith";
+
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT INTO users (username, password) VALUES (?, ?)")) {
+            stmt.setString(1, username);
+            stmt.setString(2, "SuperSecretPassword!");
+            stmt.executeUpdate();
         }
-
-        // Инициализация Playwright
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
-        page = browser.newPage();
     }
     @Disabled
     @Test
     void testLoginWithDbUser() throws SQLException {
         // Получение данных из БД
-        String username = null;
         String password = null;
 
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(
-                     "SELECT username, password FROM users WHERE username = 'tomsmith'")) {
-
-            if (rs.next()) {
-                username = rs.getString("username");
-                password = rs.getString("password");
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "SELECT password FROM users WHERE username = ?")) {
+            stmt.setString(1, username);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    password = rs.getString("password");
+                }
             }
         }
 
-        assertNotNull(username, "Username not found in DB");
-        assertNotNull(password, "Password not found in DB");
+        assertNotNull(password, "User " + username + " not found in DB");
 
-        // Выполнение логина
+        // Выполнение логина тем же значением, что записано в БД
         page.navigate("https://the-internet.herokuapp.com/login");
         page.locator("#username").fill(username);
         page.locator("#password").fill(password);
@@ -70,20 +57,4 @@ public class LoginDbTest {
         assertTrue(page.locator(".flash.success").isVisible());
         assertTrue(page.url().endsWith("/secure"));
     }
-
-    @AfterEach
-    void teardown() throws SQLException {
-        // Удаление тестового пользователя
-        try (Statement stmt = connection.createStatement()) {
-            stmt.executeUpdate(
-                    "DELETE FROM users WHERE username = 'tomsmith'"
-            );
-        }
-
-        // Закрытие ресурсов
-        if (connection != null) connection.close();
-        if (page != null) page.close();
-        if (browser != null) browser.close();
-        if (playwright != null) playwright.close();
-    }
-}
\ No newline at end of file
+}
@@ -1,30 +1,36 @@
 package com.qa.tests;
 
 import com.microsoft.playwright.*;
+import com.qa.extensions.UsePlaywright;
+import com.qa.utils.ArtifactStore;
+import com.qa.utils.NetworkProfile;
+import com.qa.utils.NetworkProfiles;
+import com.qa.utils.PerfHistory;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import io.qameta.allure.Step;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.nio.file.Paths;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@UsePlaywright
 public class LoginPerformanceTests {
 
-    private Playwright playwright;
-    private Browser browser;
     private BrowserContext context;
     private Page page;
+    private NetworkProfile network;
 
     @BeforeEach
     @Step("Инициализация браузера и контекста")
-    void setUp() {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-                .setHeadless(true));
-        context = browser.newContext();
+    void setUp(BrowserContext context) {
+        this.context = context;
+        // Сетевой профиль из -Dnetwork.profile (3g, slow-4g, ...), по умолчанию без эмуляции
+        network = NetworkProfiles.current();
+        network.apply(context);
+        Allure.parameter("network", network.name());
         page = context.newPage();
     }
 
@@ -37,27 +43,53 @@ public class LoginPerformanceTests {
                 .setSnapshots(true)
                 .setSources(false));
 
-        long startTime = System.currentTimeMillis();
+        // Несколько входов за прогон: с одним измерением на шаг критерий в PerfHistory бессилен
+        int repeat = Math.max(1, Integer.getInteger("perf.repeat", 5));
+        PerfHistory history = PerfHistory.get();
+        String test = "LoginPerformanceTests.loginTest";
+        long slowest = 0;
+        for (int i = 0; i < repeat; i++) {
+            if (i > 0) {
+                context.clearCookies();
+            }
+            long startTime = System.currentTimeMillis();
 
-        page.navigate("https://the-internet.herokuapp.com/login");
-        page.locator("#username").fill("tomsmith");
-        page.locator("#password").fill("SuperSecretPassword!");
-        page.locator("button[type='submit']").click();
-        page.waitForURL("**/secure");
+            page.navigate("https://the-internet.herokuapp.com/login");
+            long openedTime = System.currentTimeMillis();
+            page.locator("#username").fill("tomsmith");
+            page.locator("#password").fill("SuperSecretPassword!");
+            page.locator("button[type='submit']").click();
+            page.waitForURL("**/secure");
 
-        String welcomeText = page.locator("h2").textContent();
-        assertEquals(" Secure Area", welcomeText, "Авторизация не выполнена");
+            String welcomeText = page.locator("h2").textContent();
+            assertEquals(" Secure Area", welcomeText, "Авторизация не выполнена");
 
-        long duration = System.currentTimeMillis() - startTime;
+            long duration = System.currentTimeMillis() - startTime;
 
-        saveExecutionTime(duration);
+            saveExecutionTime(duration);
+            slowest = Math.max(slowest, duration);
+
+            // Сравнение с историей прошлых коммитов: ловит замедления, которые не дотягивают до лимита.
+            // Шаги помечаются профилем сети, база для сравнения у каждого профиля своя
+            history.record(test, "open-login@" + network.name(), openedTime - startTime);
+            history.record(test, "submit@" + network.name(), System.currentTimeMillis() - openedTime);
+            history.record(test, "total@" + network.name(), duration);
+
+            // Медленный вход сразу заканчивает повторы: трассировка нужна именно его
+            if (duration >= 3000) {
+                break;
+            }
+        }
+
+        for (String step : new String[]{"open-login", "submit", "total"}) {
+            history.report(test, step + "@" + network.name());
+        }
 
         // Проверка времени
-        if (duration >= 3000) {
+        if (slowest >= 3000) {
             // сохраняем трассировку
-            context.tracing().stop(new Tracing.StopOptions()
-                    .setPath(Paths.get("slow-login-trace.zip")));
-            fail(String.format("Время выполнения входа %d мс превышает максимально допустимое время 3000 мс", duration));
+            ArtifactStore.get().stopTrace(context, test, "slow-login-trace.zip");
+            fail(String.format("Время выполнения входа %d мс превышает максимально допустимое время 3000 мс", slowest));
         } else {
             // Если тест успешен - просто останавливаем трассировку без сохранения
             context.tracing().stop();
@@ -72,10 +104,12 @@ public class LoginPerformanceTests {
         return String.format("""
             Время выполнения: %d мс (%.2f сек)
             Лимит:           3000 мс (3.00 сек)
+            Сеть:            %s
             Статус:          %s
             """,
                 duration,
                 duration / 1000.0,
+                network.name(),
                 duration < 3000 ? "УСПЕШНО" : "ПРЕВЫШЕНИЕ ЛИМИТА"
         );
     }
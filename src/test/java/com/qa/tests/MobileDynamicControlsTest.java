@@ -1,38 +1,20 @@
 package com.qa.tests;
 
 import com.microsoft.playwright.*;
-import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
+import com.qa.extensions.DeviceMatrix;
+import com.qa.utils.Urls;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@Execution(ExecutionMode.CONCURRENT)
 public class MobileDynamicControlsTest {
-    Playwright playwright;
-    Browser browser;
-    BrowserContext context;
-    Page page;
 
-    @BeforeEach
-    void SetUp(){
-        playwright = Playwright.create();
-
-        Browser.NewContextOptions deviceOptions = new Browser.NewContextOptions()
-                .setUserAgent("Mozilla/5.0 (iPad; CPU OS 15_0 like Mac OS X) AppleWebKit/605.1.14" +
-                        "(KHTML, like Gecko)")
-                .setViewportSize(834, 1194)
-                .setDeviceScaleFactor(2)
-                .setIsMobile(true)
-                .setHasTouch(true);
-
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
-        context = browser.newContext(deviceOptions);
-        page = context.newPage();
-    }
-
-    @Test
-    void testInputEnabling(){
-        page.navigate("https://the-internet.herokuapp.com/dynamic_controls");
+    // Один и тот же сценарий параллельно на нескольких профилях, браузер запускается один раз на поток
+    @DeviceMatrix({"ipad-pro-11", "iphone-13", "pixel-5"})
+    void testInputEnabling(Page page){
+        page.navigate(Urls.of("/dynamic_controls"));
 
 //Проверяем что поле изначально неактивно
         Locator inputField = page.locator("input[type='text']");
@@ -45,30 +27,4 @@ public class MobileDynamicControlsTest {
 //Проверяем что поле активно после клика и ожидания
         assertTrue(inputField.isEnabled());
     }
-    @AfterEach
-    void tearDown(){
-        try {
-            if (page != null){
-                page.close();
-            }
-        } catch (Exception e){
-            // Игнор искоючения
-        }
-
-        try {
-            if (browser != null){
-                browser.close();
-            }
-        }catch (Exception e){
-            //Игнор исключения
-        }
-
-        try {
-            if (playwright !=null){
-                playwright.close();
-            }
-        }catch (Exception e){
-            //Игнор исключения
-        }
-    }
 }
@@ -1,84 +1,79 @@
 package com.qa.tests;
 
-import com.microsoft.playwright.*;
+import com.microsoft.playwright.Page;
+import com.qa.extensions.UsePlaywright;
+import com.qa.utils.MockBackend;
 import org.junit.jupiter.api.*;
+
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
+@UsePlaywright
 public class MockedApiTest {
-    static Playwright playwright;
-    static Browser browser;
-    private BrowserContext context;
-    private Page page;
+    private static final String FETCH_USER = "async () => { const r = await fetch('/api/user'); "
+            + "return {status: r.status, body: await r.text()}; }";
 
-    private static ApiService apiService;
+    private static MockBackend backend;
+    private Page page;
 
     @BeforeAll
     static void setUpClass() {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(
-                new BrowserType.LaunchOptions().setHeadless(true)
-        );
-        // Создаем мок ApiService
-        apiService = mock(ApiService.class);
-
-        // Настраиваем поведение мока - возвращаем тестовые данные
-        when(apiService.fetchUserData()).thenReturn(
-                "{\"name\": \"Test User\", \"email\": \"test@example.com\"}"
-        );
+        // Запросы страницы к /api/** уходят в локальный мок, а не на реальный сервер
+        backend = MockBackend.start();
     }
 
     @BeforeEach
-    void setUp() {
-        context = browser.newContext();
-        page = context.newPage();
+    void setUp(Page page) {
+        this.page = page;
+        backend.reset();
+        backend.get("/api/user")
+                .json("{\"name\": \"Test User\", \"email\": \"test@example.com\"}");
+        backend.route(page, "https://the-internet.herokuapp.com/api/**");
+        page.navigate("https://the-internet.herokuapp.com/dynamic_content");
     }
 
     @Test
     void testUserProfileWithMockedApi() {
-        // Используем мок вместо реального API
-        String userData = apiService.fetchUserData();
-
-        page.navigate("https://the-internet.herokuapp.com/dynamic_content");
-        page.evaluate("(data) => { window.userData = data; }", userData);
+        Map<?, ?> result = (Map<?, ?>) page.evaluate(FETCH_USER);
 
         // Проверяем, что данные корректно обрабатываются
-        Object result = page.evaluate("() => window.userData");
-        assertNotNull(result);
-        assertTrue(result.toString().contains("Test User"));
+        assertEquals(200, ((Number) result.get("status")).intValue());
+        assertTrue(result.get("body").toString().contains("Test User"));
+        assertEquals(1, backend.requests("GET", "/api/user").size(), "Запрос должен дойти до мока");
     }
 
     @Test
     void testWithDifferentMockData() {
-        // Изменяем поведение мока для другого теста
-        when(apiService.fetchUserData()).thenReturn(
-                "{\"name\": \"Admin\", \"email\": \"admin@example.com\"}"
-        );
+        // Заглушка с тем же путём заменяет прежнюю
+        backend.get("/api/user")
+                .json("{\"name\": \"Admin\", \"email\": \"admin@example.com\"}");
 
-        String userData = apiService.fetchUserData();
-        assertTrue(userData.contains("Admin"));
+        Map<?, ?> result = (Map<?, ?>) page.evaluate(FETCH_USER);
+        assertTrue(result.get("body").toString().contains("Admin"));
     }
 
-    // Внутренний класс, имитирующий медленный API
-    static class ApiService {
-        public String fetchUserData() {
-            try {
-                Thread.sleep(3000); // 3 секунды задержки
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            return "{\"name\": \"Real User\", \"email\": \"real@example.com\"}";
-        }
+    @Test
+    void testSlowBackend() {
+        backend.get("/api/user")
+                .latency(MockBackend.Latency.fixed(1500))
+                .json("{\"name\": \"Slow User\"}");
+
+        Object elapsed = page.evaluate("async () => { const t = performance.now(); await fetch('/api/user'); "
+                + "return performance.now() - t; }");
+        assertTrue(((Number) elapsed).doubleValue() >= 1500, "Задержка бэкенда должна быть видна странице");
     }
 
-    @AfterEach
-    void tearDown() {
-        if (context != null) context.close();
+    @Test
+    void testFailingBackend() {
+        backend.get("/api/user").errorRate(1.0, 503);
+
+        Map<?, ?> result = (Map<?, ?>) page.evaluate(FETCH_USER);
+        assertEquals(503, ((Number) result.get("status")).intValue());
     }
 
     @AfterAll
     static void tearDownClass() {
-        if (browser != null) browser.close();
-        if (playwright != null) playwright.close();
+        if (backend != null) backend.close();
     }
 }
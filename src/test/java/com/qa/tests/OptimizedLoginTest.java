@@ -2,24 +2,20 @@ package com.qa.tests;
 
 import com.microsoft.playwright.*;
 import com.microsoft.playwright.options.Cookie;
+import com.qa.extensions.UsePlaywright;
 import org.junit.jupiter.api.*;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+@UsePlaywright
 public class OptimizedLoginTest {
-    static private Playwright playwright;
-    static private Browser browser;
-    private BrowserContext context;
     private Page page;
     static private List<Cookie> authCookies;
 
     @BeforeAll
-    static void setUpClass(){
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
-
+    static void setUpClass(Browser browser){
         try (BrowserContext tempContext = browser.newContext();
             Page tempPage = tempContext.newPage()){
 
@@ -29,10 +25,9 @@ public class OptimizedLoginTest {
     }
 
     @BeforeEach
-    void setUp(){
-        context = browser.newContext();
+    void setUp(BrowserContext context, Page page){
         context.addCookies(authCookies);
-        page = context.newPage();
+        this.page = page;
     }
 
     @Test
@@ -64,17 +59,5 @@ public class OptimizedLoginTest {
         // Возвращаем cookies после успешной аутентификации
         return page.context().cookies();
     }
-
-    @AfterEach
-    void tearDown() {
-        if (page != null) page.close();
-        if (context != null) context.close();
-    }
-
-    @AfterAll
-    static void tearDownClass() {
-        if (browser != null) browser.close();
-        if (playwright != null) playwright.close();
-    }
 }
 
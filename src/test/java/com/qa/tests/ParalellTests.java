@@ -1,62 +1,30 @@
 package com.qa.tests;
 
 import com.microsoft.playwright.*;
+import com.qa.extensions.UsePlaywright;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
-import java.util.List;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 @TestInstance(TestInstance.Lifecycle.PER_METHOD)
 @Execution(ExecutionMode.CONCURRENT)
+@UsePlaywright
 public class ParalellTests {
-    private Playwright playwright;
-    private Browser browser;
-    private BrowserContext context;
-    private Page page;
-
-    @BeforeEach
-    void setup() {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-                .setHeadless(true)
-                .setArgs(List.of("--disable-dev-shm-usage")));
-        context = browser.newContext();
-        page = context.newPage();
-    }
 
+    // Каждый поток берёт свой браузер из пула, контекст и страница - на тест
     @Test
-    void testLoginPage() {
+    void testLoginPage(Page page) {
         page.navigate("https://the-internet.herokuapp.com/login");
         assertTrue(page.isVisible("h2:has-text('Login Page')"),
                 "Заголовок 'Login Page' не найден");
     }
 
     @Test
-    void testAddRemoveElements() {
-        BrowserContext context = browser.newContext();
-        Page page = context.newPage();
-
+    void testAddRemoveElements(Page page) {
         page.navigate("https://the-internet.herokuapp.com/add_remove_elements/");
         page.click("button:text('Add Element')");
         assertTrue(page.isVisible("button.added-manually"));
     }
-
-    @AfterEach
-    void closeBrowser() {
-        if (page != null) {
-            page.close();
-        }
-        if (context != null) {
-            context.close();
-        }
-        if (browser != null) {
-            browser.close();
-        }
-        if (playwright != null) {
-            playwright.close();
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.qa.tests;
+
+import com.qa.utils.LinkCrawler;
+import com.qa.utils.Urls;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Epic("Тесты для the-internet.herokuapp.com")
+@Feature("Дымовой обход всех страниц")
+public class SiteCrawlTest {
+
+    // Глубина, бюджеты и исключения - crawl.* в config.properties
+    @Test
+    void testAllReachablePagesLoad() throws Exception {
+        LinkCrawler.Sitemap sitemap = new LinkCrawler(LinkCrawler.Options.fromConfig()).crawl(Urls.of("/"));
+
+        Path file = Paths.get("target", "sitemap.json");
+        sitemap.write(file);
+        Allure.addAttachment("Карта сайта", "application/json", Files.newInputStream(file), ".json");
+        System.out.println("Обход: " + sitemap.pages().size() + " страниц за " + sitemap.elapsedMs()
+                + " мс (" + sitemap.stopReason() + "), проблем: " + sitemap.failures().size());
+
+        assertTrue(sitemap.pages().size() > 1, "Со стартовой страницы не найдено ни одной ссылки");
+        sitemap.assertAllPassed();
+    }
+}
@@ -1,45 +1,25 @@
 package com.qa.tests;
 
 import com.microsoft.playwright.*;
-import org.aeonbits.owner.ConfigFactory;
-import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeAll;
+import com.qa.extensions.StartPage;
+import com.qa.extensions.UsePlaywright;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
-import com.qa.config.EnvConfig;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+@UsePlaywright
+@StartPage("/status_codes")
 public class StatusCodeApiUiTest {
-    private Playwright playwright;
     private APIRequestContext apiRequest;
-    private Browser browser;
     private Page page;
-    private static EnvConfig config;
-
-    @BeforeAll
-    static void loadConfig() {
-        config = ConfigFactory.create(EnvConfig.class, System.getProperties());
-    }
 
     @BeforeEach
-    void setUp() {
-        playwright = Playwright.create();
-
-        apiRequest = playwright.request().newContext(
-                new APIRequest.NewContextOptions()
-                        .setBaseURL(config.baseUrl().replaceAll("/$", ""))
-        );
-
-        BrowserType browserType = getBrowserType(playwright, config.browser());
-        browser = browserType.launch(
-                new BrowserType.LaunchOptions()
-                        .setHeadless(config.headless())
-        );
-
-        page = browser.newPage();
-        page.navigate(config.baseUrl() + "/status_codes");
+    void setUp(Page page, APIRequestContext apiRequest) {
+        // API-контекст с base_url из конфига, один на класс; страница уже открыта на /status_codes
+        this.apiRequest = apiRequest;
+        this.page = page;
         page.waitForSelector("div.example");
     }
 
@@ -54,14 +34,6 @@ public class StatusCodeApiUiTest {
                         statusCode, apiStatusCode, uiStatusCode));
     }
 
-    private BrowserType getBrowserType(Playwright playwright, String browserName) {
-        switch (browserName.toLowerCase()) {
-            case "firefox": return playwright.firefox();
-            case "webkit": return playwright.webkit();
-            default: return playwright.chromium();
-        }
-    }
-
     private int getApiStatusCode(int code) {
         APIResponse response = apiRequest.get("/status_codes/" + code);
         return response.status();
@@ -75,16 +47,7 @@ public class StatusCodeApiUiTest {
                 () -> link.click(new Locator.ClickOptions().setTimeout(15000))
         );
 
-        page.goBack();
-        page.waitForSelector("div.example");
+        // Страница после проверки закрывается, возвращаться назад по истории незачем
         return response.status();
     }
-
-    @AfterEach
-    void teardown() {
-        if (apiRequest != null) apiRequest.dispose();
-        if (page != null) page.close();
-        if (browser != null) browser.close();
-        if (playwright != null) playwright.close();
-    }
 }
\ No newline at end of file
@@ -3,29 +3,23 @@ package com.qa.tests;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.microsoft.playwright.APIRequest;
 import com.microsoft.playwright.APIRequestContext;
 import com.microsoft.playwright.APIResponse;
-import com.microsoft.playwright.Playwright;
-import org.junit.jupiter.api.AfterEach;
+import com.qa.extensions.UsePlaywright;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@UsePlaywright(apiBaseUrl = "https://jsonplaceholder.typicode.com")
 public class TodoApiTest {
-    Playwright playwright;
     APIRequestContext requestContext;
     ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
-    void setUp(){
-        playwright = Playwright.create();
-        requestContext = playwright.request().newContext(
-                new APIRequest.NewContextOptions()
-                        .setBaseURL("https://jsonplaceholder.typicode.com")
-        );
+    void setUp(APIRequestContext requestContext){
+        this.requestContext = requestContext;
     }
     @Disabled
     @Test
@@ -55,23 +49,4 @@ public class TodoApiTest {
         assertTrue(jsonNode.get("title").isTextual());
         assertTrue(jsonNode.get("completed").isBoolean());
     }
-
-    @AfterEach
-    void tearDown(){
-        try {
-            if (requestContext != null){
-                requestContext.dispose();
-            }
-        } catch (Exception e){
-            // Игнор искоючения
-        }
-
-        try {
-            if (playwright !=null){
-                playwright.close();
-            }
-        }catch (Exception e){
-            //Игнор исключения
-        }
-    }
 }
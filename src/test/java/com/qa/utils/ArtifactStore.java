@@ -0,0 +1,350 @@
+package com.qa.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Tracing;
+import com.qa.config.ArtifactConfig;
+import com.qa.config.ConfigRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Хранилище артефактов (трейсы, видео, скриншоты) с адресацией по содержимому.
+ * <p>
+ * Каждый блоб пишется один раз под своим SHA-256 в {@code blobs/ab/<sha256>.<ext>}: одинаковые скриншоты
+ * тысяч тестов занимают место один раз. Для каждого теста ведётся манифест {@code manifests/<тест>.json}
+ * с именами артефактов, их хэшами и путями блобов. Текстовые артефакты сжимаются gzip в фоне (PNG, zip и видео
+ * уже сжаты), там же применяются ограничения по размеру и возрасту и, если задан {@code artifacts.s3.bucket},
+ * идёт выгрузка в S3-совместимый бакет. Для сжимаемых артефактов манифест сразу указывает итоговый
+ * {@code .gz}-блоб с {@code "encoding": "gzip"}.
+ */
+public final class ArtifactStore {
+    private static final Set<String> PRECOMPRESSED = Set.of(
+            "image/png", "image/jpeg", "image/webp", "application/zip", "application/gzip", "video/webm", "video/mp4");
+
+    private static volatile ArtifactStore instance;
+
+    private final Path blobs;
+    private final Path manifests;
+    private final long maxBytes;
+    private final Duration maxAge;
+    private final S3ArtifactUploader uploader;
+    private final ExecutorService background;
+    private final Map<String, Map<String, Artifact>> testArtifacts = new ConcurrentHashMap<>();
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public ArtifactStore(Path root, long maxBytes, Duration maxAge, S3ArtifactUploader uploader) {
+        this.blobs = root.resolve("blobs");
+        this.manifests = root.resolve("manifests");
+        this.maxBytes = maxBytes;
+        this.maxAge = maxAge;
+        this.uploader = uploader;
+        this.background = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "artifact-store");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Files.createDirectories(blobs);
+            Files.createDirectories(manifests);
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось создать каталог артефактов " + root, e);
+        }
+        background.submit(this::enforceRetention);
+    }
+
+    public static ArtifactStore get() {
+        if (instance == null) {
+            synchronized (ArtifactStore.class) {
+                if (instance == null) {
+                    ArtifactConfig config = ConfigRegistry.get(ArtifactConfig.class);
+                    S3ArtifactUploader uploader = config.s3Bucket() == null || config.s3Bucket().isEmpty()
+                            ? null
+                            : new S3ArtifactUploader(config.s3Bucket(), config.s3Endpoint(),
+                            config.s3Region(), config.s3Prefix());
+                    ArtifactStore store = new ArtifactStore(Paths.get(config.dir()),
+                            config.maxSizeMb() * 1024 * 1024, Duration.ofDays(config.maxAgeDays()), uploader);
+                    Runtime.getRuntime().addShutdownHook(new Thread(store::close, "artifact-store-shutdown"));
+                    instance = store;
+                }
+            }
+        }
+        return instance;
+    }
+
+    public Artifact put(String testId, String name, String contentType, byte[] data) {
+        String sha = HexFormat.of().formatHex(digest().digest(data));
+        Path blob = blobFile(sha, name);
+        try {
+            if (!touchExisting(sha, name)) {
+                Path tmp = Files.createTempFile(blobs, "put-", ".tmp");
+                Files.write(tmp, data);
+                publish(tmp, blob);
+                afterWrite(sha, name, contentType, blob);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось сохранить артефакт " + name, e);
+        }
+        return record(testId, new Artifact(name, sha, data.length, contentType, blob));
+    }
+
+    /**
+     * Забирает файл в хранилище: хэш считается потоково, сам файл переносится, а не копируется.
+     */
+    public Artifact put(String testId, String name, String contentType, Path file) {
+        try {
+            MessageDigest digest = digest();
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            String sha = HexFormat.of().formatHex(digest.digest());
+            long size = Files.size(file);
+            Path blob = blobFile(sha, name);
+            if (touchExisting(sha, name)) {
+                Files.deleteIfExists(file);
+            } else {
+                Files.createDirectories(blob.getParent());
+                publish(file, blob);
+                afterWrite(sha, name, contentType, blob);
+            }
+            return record(testId, new Artifact(name, sha, size, contentType, blob));
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось сохранить артефакт " + file, e);
+        }
+    }
+
+    /**
+     * Останавливает трассировку контекста и сохраняет её в хранилище.
+     */
+    public Artifact stopTrace(BrowserContext context, String testId, String name) {
+        try {
+            // Временный файл в том же каталоге, чтобы перенос в блоб был атомарным
+            Path tmp = Files.createTempFile(blobs, "trace-", ".zip");
+            context.tracing().stop(new Tracing.StopOptions().setPath(tmp));
+            return put(testId, name, "application/zip", tmp);
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось сохранить трассировку " + name, e);
+        }
+    }
+
+    /**
+     * Текущий файл блоба: после фонового сжатия это {@code .gz}.
+     */
+    public Path resolve(Artifact artifact) {
+        Path gz = gzPath(artifact.path());
+        return Files.exists(gz) ? gz : artifact.path();
+    }
+
+    /**
+     * Дожидается фонового сжатия и выгрузки.
+     */
+    public void flush() {
+        try {
+            background.submit(() -> { }).get(5, TimeUnit.MINUTES);
+        } catch (Exception e) {
+            throw new RuntimeException("Фоновые задачи хранилища артефактов не завершились", e);
+        }
+    }
+
+    public void close() {
+        background.shutdown();
+        try {
+            background.awaitTermination(5, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (uploader != null) {
+            uploader.close();
+        }
+    }
+
+    void enforceRetention() {
+        Instant cutoff = Instant.now().minus(maxAge);
+        List<Path> kept = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> files = Files.walk(blobs)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                } else {
+                    kept.add(file);
+                    total += Files.size(file);
+                }
+            }
+            // Сверх лимита по размеру удаляем самые старые блобы
+            kept.sort(Comparator.comparing(ArtifactStore::lastModified));
+            for (Path file : kept) {
+                if (total <= maxBytes) {
+                    break;
+                }
+                total -= Files.size(file);
+                Files.deleteIfExists(file);
+            }
+            try (Stream<Path> old = Files.list(manifests)) {
+                for (Path manifest : old.toList()) {
+                    if (Files.getLastModifiedTime(manifest).toInstant().isBefore(cutoff)) {
+                        Files.deleteIfExists(manifest);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Не удалось применить ограничения хранилища артефактов: " + e.getMessage());
+        }
+    }
+
+    private Artifact record(String testId, Artifact artifact) {
+        Map<String, Artifact> artifacts = testArtifacts.computeIfAbsent(testId, id -> new LinkedHashMap<>());
+        synchronized (artifacts) {
+            artifacts.put(artifact.name(), artifact);
+            Map<String, Object> manifest = new LinkedHashMap<>();
+            manifest.put("test", testId);
+            List<Map<String, Object>> entries = new ArrayList<>();
+            for (Artifact a : artifacts.values()) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("name", a.name());
+                entry.put("sha256", a.sha256());
+                entry.put("size", a.size());
+                entry.put("contentType", a.contentType());
+                // Путь после фонового сжатия: манифест читают, когда сжатие уже закончилось
+                entry.put("blob", blobs.relativize(stored(a.path(), a.contentType())).toString());
+                if (compressed(a.contentType())) {
+                    entry.put("encoding", "gzip");
+                }
+                entries.add(entry);
+            }
+            manifest.put("artifacts", entries);
+            try {
+                mapper.writeValue(manifests.resolve(safeName(testId) + ".json").toFile(), manifest);
+            } catch (IOException e) {
+                throw new RuntimeException("Не удалось записать манифест " + testId, e);
+            }
+        }
+        return artifact;
+    }
+
+    private void afterWrite(String sha, String name, String contentType, Path blob) {
+        boolean compress = compressed(contentType);
+        if (!compress && uploader == null) {
+            return;
+        }
+        background.submit(() -> {
+            try {
+                Path stored = compress ? gzip(blob) : blob;
+                if (uploader != null) {
+                    uploader.upload(sha, stored.getFileName().toString(), stored);
+                }
+            } catch (Exception e) {
+                System.err.println("Фоновая обработка артефакта " + name + " не удалась: " + e.getMessage());
+            }
+        });
+    }
+
+    private static boolean compressed(String contentType) {
+        return contentType == null || !PRECOMPRESSED.contains(contentType);
+    }
+
+    private static Path stored(Path blob, String contentType) {
+        return compressed(contentType) ? gzPath(blob) : blob;
+    }
+
+    private static Path gzPath(Path blob) {
+        return blob.resolveSibling(blob.getFileName() + ".gz");
+    }
+
+    private static Path gzip(Path blob) throws IOException {
+        Path gz = gzPath(blob);
+        Path tmp = blob.resolveSibling(blob.getFileName() + ".gz.tmp");
+        try (InputStream in = Files.newInputStream(blob);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+            in.transferTo(out);
+        }
+        Files.move(tmp, gz, StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(blob);
+        return gz;
+    }
+
+    // Блоб уже есть: только обновляем время, чтобы ограничение по возрасту его не удалило
+    private boolean touchExisting(String sha, String name) throws IOException {
+        Path blob = blobFile(sha, name);
+        for (Path candidate : List.of(blob, gzPath(blob))) {
+            if (Files.exists(candidate)) {
+                Files.setLastModifiedTime(candidate, FileTime.from(Instant.now()));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void publish(Path source, Path blob) throws IOException {
+        Files.createDirectories(blob.getParent());
+        try {
+            Files.move(source, blob, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(source, blob);
+            } catch (FileAlreadyExistsException exists) {
+                Files.deleteIfExists(source);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // Тот же блоб параллельно записал другой поток
+            Files.deleteIfExists(source);
+        }
+    }
+
+    private Path blobFile(String sha, String name) {
+        int dot = name.lastIndexOf('.');
+        String ext = dot >= 0 ? name.substring(dot) : "";
+        return blobs.resolve(sha.substring(0, 2)).resolve(sha + ext);
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static String safeName(String testId) {
+        return testId.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Artifact(String name, String sha256, long size, String contentType, Path path) {
+    }
+}
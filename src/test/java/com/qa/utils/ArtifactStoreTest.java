@@ -0,0 +1,141 @@
+package com.qa.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtifactStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void testIdenticalBlobsAreStoredOnce() throws Exception {
+        ArtifactStore store = new ArtifactStore(root, Long.MAX_VALUE, Duration.ofDays(1), null);
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+
+        ArtifactStore.Artifact first = store.put("TestA", "shot.png", "image/png", png);
+        ArtifactStore.Artifact second = store.put("TestB", "other.png", "image/png", png);
+        store.flush();
+
+        assertEquals(first.sha256(), second.sha256());
+        assertEquals(1, countBlobs());
+        assertTrue(Files.readString(root.resolve("manifests/TestB.json")).contains(first.sha256()));
+        store.close();
+    }
+
+    @Test
+    void testTextArtifactsAreCompressedInBackground() throws Exception {
+        ArtifactStore store = new ArtifactStore(root, Long.MAX_VALUE, Duration.ofDays(1), null);
+        ArtifactStore.Artifact log = store.put("TestA", "console.log", "text/plain",
+                "line\n".repeat(1000).getBytes(StandardCharsets.UTF_8));
+        store.flush();
+
+        Path stored = store.resolve(log);
+        assertTrue(stored.toString().endsWith(".log.gz"));
+        assertTrue(Files.size(stored) < log.size());
+        // Манифест указывает на сжатый блоб, а не на удалённый исходный
+        JsonNode entry = new ObjectMapper().readTree(root.resolve("manifests/TestA.json").toFile())
+                .get("artifacts").get(0);
+        assertEquals(stored, root.resolve("blobs").resolve(entry.get("blob").asText()));
+        assertEquals("gzip", entry.get("encoding").asText());
+        store.close();
+    }
+
+    @Test
+    void testFileIsMovedIntoStore() throws Exception {
+        ArtifactStore store = new ArtifactStore(root, Long.MAX_VALUE, Duration.ofDays(1), null);
+        Path trace = Files.write(root.resolve("trace.zip"), new byte[]{'P', 'K', 3, 4});
+
+        ArtifactStore.Artifact artifact = store.put("TestA", "trace.zip", "application/zip", trace);
+
+        assertFalse(Files.exists(trace));
+        assertTrue(Files.exists(artifact.path()));
+        store.close();
+    }
+
+    @Test
+    void testRetentionDropsOldestBlobsOverLimit() throws Exception {
+        ArtifactStore store = new ArtifactStore(root, 150, Duration.ofDays(1), null);
+        // Первая очистка при создании хранилища идёт в фоне и не должна застать оба блоба
+        store.flush();
+        ArtifactStore.Artifact old = store.put("TestA", "a.png", "image/png", new byte[100]);
+        ArtifactStore.Artifact fresh = store.put("TestA", "b.png", "image/png", filled(100));
+        Files.setLastModifiedTime(old.path(), FileTime.from(Instant.now().minusSeconds(60)));
+        store.flush();
+
+        store.enforceRetention();
+
+        assertFalse(Files.exists(old.path()));
+        assertTrue(Files.exists(fresh.path()));
+        store.close();
+    }
+
+    // Запуск против локального MinIO из docker-compose: -Dartifacts.s3.test.endpoint=http://localhost:9000
+    // -Daws.accessKeyId=minioadmin -Daws.secretAccessKey=minioadmin
+    @Test
+    @EnabledIfSystemProperty(named = "artifacts.s3.test.endpoint", matches = ".+")
+    void testBlobsAreUploadedToS3() throws Exception {
+        String bucket = System.getProperty("artifacts.s3.test.bucket", "artifacts");
+        String endpoint = System.getProperty("artifacts.s3.test.endpoint");
+        try (S3Client s3 = S3Client.builder().region(Region.US_EAST_1)
+                .endpointOverride(URI.create(endpoint)).forcePathStyle(true).build()) {
+            try {
+                s3.createBucket(b -> b.bucket(bucket));
+            } catch (BucketAlreadyOwnedByYouException e) {
+                // Бакет остался от прошлого запуска
+            }
+            // Свой префикс на запуск: ключи прошлых запусков не подменяют выгрузку
+            S3ArtifactUploader uploader = new S3ArtifactUploader(bucket, endpoint, "us-east-1",
+                    "test/" + UUID.randomUUID() + "/");
+            ArtifactStore store = new ArtifactStore(root, Long.MAX_VALUE, Duration.ofDays(1), uploader);
+
+            ArtifactStore.Artifact shot = store.put("TestA", "shot.png", "image/png", filled(64));
+            ArtifactStore.Artifact log = store.put("TestA", "console.log", "text/plain",
+                    "line\n".repeat(100).getBytes(StandardCharsets.UTF_8));
+            store.flush();
+
+            // Фоновая выгрузка ошибки только логирует, поэтому наличие ключей проверяется в бакете
+            String shotKey = uploader.key(shot.sha256(), shot.path().getFileName().toString());
+            assertEquals(64, s3.headObject(b -> b.bucket(bucket).key(shotKey)).contentLength());
+            Path gz = store.resolve(log);
+            String logKey = uploader.key(log.sha256(), gz.getFileName().toString());
+            assertEquals(Files.size(gz), s3.headObject(b -> b.bucket(bucket).key(logKey)).contentLength());
+
+            // Блоб уже в бакете: повторная выгрузка пропускается
+            assertFalse(uploader.upload(shot.sha256(), shot.path().getFileName().toString(), shot.path()));
+            store.close();
+        }
+    }
+
+    private long countBlobs() throws Exception {
+        try (Stream<Path> files = Files.walk(root.resolve("blobs"))) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static byte[] filled(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+}
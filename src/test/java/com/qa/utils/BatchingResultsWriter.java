@@ -0,0 +1,249 @@
+package com.qa.utils;
+
+import io.qameta.allure.AllureResultsWriteException;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.internal.Allure2ModelJackson;
+import io.qameta.allure.internal.shadowed.jackson.databind.ObjectMapper;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Писатель результатов Allure без тысяч мелких файлов.
+ * <p>
+ * Результаты и контейнеры копятся в памяти и дописываются группами по {@code allure.batch.size}
+ * (по умолчанию 200, и не реже раза в 2 с) в один файл {@code batch-<id>.index} на JVM.
+ * Вложения не держатся в куче: поток копируется через direct-буфер в {@code batch-<id>.bin},
+ * в индекс попадает только смещение и длина. Оба файла только дописываются.
+ * <p>
+ * Перед построением отчёта {@link #expand(Path)} (или {@code main}) раскладывает их в обычные
+ * {@code *-result.json}, {@code *-container.json} и файлы вложений. Недописанная после падения JVM
+ * запись в конце индекса пропускается.
+ */
+public final class BatchingResultsWriter implements AllureResultsWriter, AutoCloseable {
+    private static final String INDEX = ".index";
+    private static final String BLOBS = ".bin";
+    private static final int COPY_BUFFER = 64 * 1024;
+
+    private final ObjectMapper mapper = Allure2ModelJackson.createMapper();
+    private final FileChannel index;
+    private final FileChannel blobs;
+    private final ByteBuffer copyBuffer = ByteBuffer.allocateDirect(COPY_BUFFER);
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final int batchSize;
+    private final ScheduledExecutorService flusher;
+    private int pendingRecords;
+
+    public BatchingResultsWriter(Path directory, int batchSize, long flushMillis) {
+        this.batchSize = batchSize;
+        String id = System.currentTimeMillis() + "-" + ProcessHandle.current().pid();
+        try {
+            Files.createDirectories(directory);
+            index = FileChannel.open(directory.resolve("batch-" + id + INDEX),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            blobs = FileChannel.open(directory.resolve("batch-" + id + BLOBS),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not open Allure batch files in " + directory, e);
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "allure-batch-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Каталог результатов из {@code allure.properties}, как у стандартного писателя.
+     */
+    public static Path resultsDirectory() {
+        return Paths.get(io.qameta.allure.util.PropertiesUtils.loadAllureProperties()
+                .getProperty("allure.results.directory", "allure-results"));
+    }
+
+    @Override
+    public void write(TestResult result) {
+        String uuid = result.getUuid() == null ? UUID.randomUUID().toString() : result.getUuid();
+        record('R', uuid + "-result.json", json(result));
+    }
+
+    @Override
+    public void write(TestResultContainer container) {
+        String uuid = container.getUuid() == null ? UUID.randomUUID().toString() : container.getUuid();
+        record('C', uuid + "-container.json", json(container));
+    }
+
+    @Override
+    public void write(String source, InputStream attachment) {
+        try (ReadableByteChannel in = Channels.newChannel(attachment)) {
+            long offset;
+            long length = 0;
+            synchronized (blobs) {
+                offset = blobs.size();
+                int read;
+                while ((read = in.read(copyBuffer.clear())) != -1) {
+                    copyBuffer.flip();
+                    while (copyBuffer.hasRemaining()) {
+                        blobs.write(copyBuffer);
+                    }
+                    length += read;
+                }
+            }
+            header('A', source, offset + " " + length, null);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not write Allure attachment", e);
+        }
+    }
+
+    public synchronized void flush() throws IOException {
+        if (pendingRecords == 0) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(pending.toByteArray());
+        while (buffer.hasRemaining()) {
+            index.write(buffer);
+        }
+        pending.reset();
+        pendingRecords = 0;
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+        try {
+            flush();
+            index.close();
+            blobs.close();
+        } catch (IOException e) {
+            System.err.println("Не удалось дописать результаты Allure: " + e.getMessage());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            System.err.println("Не удалось дописать результаты Allure: " + e.getMessage());
+        }
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not serialize Allure result", e);
+        }
+    }
+
+    private void record(char kind, String name, byte[] body) {
+        header(kind, name, Integer.toString(body.length), body);
+    }
+
+    // Запись индекса: "<вид> <имя> <длина или смещение длина>\n", у результатов за ней тело и \n
+    private synchronized void header(char kind, String name, String size, byte[] body) {
+        pending.writeBytes((kind + " " + name + " " + size + "\n").getBytes(StandardCharsets.UTF_8));
+        if (body != null) {
+            pending.writeBytes(body);
+            pending.write('\n');
+        }
+        if (++pendingRecords >= batchSize) {
+            flushQuietly();
+        }
+    }
+
+    /**
+     * Раскладывает все пачки каталога в стандартный формат Allure и удаляет их.
+     *
+     * @return число восстановленных файлов
+     */
+    public static int expand(Path directory) throws IOException {
+        int files = 0;
+        try (DirectoryStream<Path> indexes = Files.newDirectoryStream(directory, "batch-*" + INDEX)) {
+            for (Path indexFile : indexes) {
+                String name = indexFile.getFileName().toString();
+                Path blobFile = indexFile.resolveSibling(name.substring(0, name.length() - INDEX.length()) + BLOBS);
+                files += expand(indexFile, blobFile, directory);
+                Files.delete(indexFile);
+                Files.deleteIfExists(blobFile);
+            }
+        }
+        return files;
+    }
+
+    private static int expand(Path indexFile, Path blobFile, Path directory) throws IOException {
+        int files = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(indexFile));
+             FileChannel blobs = Files.exists(blobFile) ? FileChannel.open(blobFile, StandardOpenOption.READ) : null) {
+            String line;
+            while ((line = readLine(in)) != null) {
+                String[] parts = line.split(" ");
+                if (parts.length < 3) {
+                    break;
+                }
+                Path target = directory.resolve(parts[1]);
+                if (parts[0].equals("A")) {
+                    if (blobs == null || parts.length != 4) {
+                        break;
+                    }
+                    long offset = Long.parseLong(parts[2]);
+                    long length = Long.parseLong(parts[3]);
+                    try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                        long copied = 0;
+                        while (copied < length) {
+                            copied += blobs.transferTo(offset + copied, length - copied, out);
+                        }
+                    }
+                } else {
+                    byte[] body = in.readNBytes(Integer.parseInt(parts[2]));
+                    if (body.length != Integer.parseInt(parts[2]) || in.read() != '\n') {
+                        // Запись оборвалась при падении JVM
+                        break;
+                    }
+                    try (OutputStream out = Files.newOutputStream(target)) {
+                        out.write(body);
+                    }
+                }
+                files++;
+            }
+        }
+        return files;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                return line.toString(StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = args.length > 0 ? Paths.get(args[0]) : resultsDirectory();
+        System.out.println("Результатов Allure восстановлено: " + expand(directory) + " в " + directory);
+    }
+}
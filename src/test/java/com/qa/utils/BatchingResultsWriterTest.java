@@ -0,0 +1,60 @@
+package com.qa.utils;
+
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchingResultsWriterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testExpandRestoresStandardResultFiles() throws Exception {
+        byte[] screenshot = new byte[200_000];
+        screenshot[199_999] = 7;
+        try (BatchingResultsWriter writer = new BatchingResultsWriter(dir, 2, 60_000)) {
+            writer.write(new TestResult().setUuid("r1").setName("first"));
+            writer.write("a1-attachment.png", new ByteArrayInputStream(screenshot));
+            writer.write(new TestResult().setUuid("r2").setName("второй"));
+            writer.write(new TestResultContainer().setUuid("c1"));
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(2, files.count(), "во время прогона только индекс и файл вложений");
+        }
+
+        assertEquals(4, BatchingResultsWriter.expand(dir));
+        assertTrue(Files.readString(dir.resolve("r2-result.json"), StandardCharsets.UTF_8).contains("второй"));
+        assertTrue(Files.exists(dir.resolve("r1-result.json")));
+        assertTrue(Files.exists(dir.resolve("c1-container.json")));
+        assertArrayEquals(screenshot, Files.readAllBytes(dir.resolve("a1-attachment.png")));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.noneMatch(f -> f.getFileName().toString().startsWith("batch-")));
+        }
+    }
+
+    @Test
+    void testTornRecordAfterCrashIsSkipped() throws Exception {
+        try (BatchingResultsWriter writer = new BatchingResultsWriter(dir, 10, 60_000)) {
+            writer.write(new TestResult().setUuid("r1"));
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            Path index = files.filter(f -> f.toString().endsWith(".index")).findFirst().orElseThrow();
+            Files.writeString(index, "R r2-result.json 500\n{\"uuid\":", StandardOpenOption.APPEND);
+        }
+
+        assertEquals(1, BatchingResultsWriter.expand(dir));
+        assertTrue(Files.exists(dir.resolve("r1-result.json")));
+        assertFalse(Files.exists(dir.resolve("r2-result.json")));
+    }
+}
@@ -0,0 +1,220 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.*;
+import com.microsoft.playwright.options.LoadState;
+import com.qa.config.ConfigRegistry;
+import com.qa.config.EnvConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Браузеры, общие для всех тестов одного рабочего потока: каждый движок запускается один раз
+ * на поток, тесты получают от него только новые контексты. Playwright не потокобезопасен,
+ * поэтому у каждого потока свой экземпляр. Всё закрывается при завершении JVM.
+ */
+public final class BrowserPool {
+    private static final ThreadLocal<Worker> WORKER = ThreadLocal.withInitial(BrowserPool::registerWorker);
+    private static final Queue<Worker> WORKERS = new ConcurrentLinkedQueue<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(BrowserPool::closeAll, "browser-pool-shutdown"));
+    }
+
+    private BrowserPool() {
+    }
+
+    public static Playwright playwright() {
+        return WORKER.get().playwright();
+    }
+
+    // Браузер из конфига (browser=...)
+    public static Browser browser() {
+        return browser(ConfigRegistry.get(EnvConfig.class).browser());
+    }
+
+    public static Browser browser(String engine) {
+        return WORKER.get().browser(engine.toLowerCase());
+    }
+
+    public static BrowserContext newContext(String engine) {
+        return browser(engine).newContext();
+    }
+
+    public static BrowserContext newContext(String engine, Browser.NewContextOptions options) {
+        return browser(engine).newContext(options);
+    }
+
+    // Браузеры всех потоков, например для поиска незакрытых контекстов в конце прогона
+    public static List<Browser> browsers() {
+        List<Browser> all = new ArrayList<>();
+        for (Worker worker : WORKERS) {
+            all.addAll(worker.browsers.values());
+        }
+        return all;
+    }
+
+    // Браузеры текущего потока, только с ними можно работать из этого потока
+    public static List<Browser> currentBrowsers() {
+        return new ArrayList<>(WORKER.get().browsers.values());
+    }
+
+    /**
+     * Открывает в новом контексте страницу следующего теста потока и запускает навигацию через
+     * {@code location.href}, не дожидаясь ответа: страница грузится, пока идёт текущий тест.
+     * У потока одна заготовка, прежняя закрывается.
+     */
+    public static void prefetch(String engine, String url) {
+        discardPrefetched();
+        BrowserContext context = newContext(engine);
+        Page page = context.newPage();
+        WORKER.get().prefetched = new Prefetched(engine.toLowerCase(), url, page);
+        try {
+            page.evaluate("url => { window.location.href = url; }", url);
+        } catch (PlaywrightException e) {
+            discardPrefetched();
+        }
+    }
+
+    /**
+     * Заготовка {@link #prefetch} для того же движка и адреса, дождавшаяся загрузки. Если заготовка
+     * другая или навигация не удалась, она закрывается и возвращается {@code null}.
+     * Контекст страницы переходит к вызывающему, закрывает его он.
+     */
+    public static Page takePrefetched(String engine, String url) {
+        Worker worker = WORKER.get();
+        Prefetched prefetched = worker.prefetched;
+        worker.prefetched = null;
+        if (prefetched == null) {
+            return null;
+        }
+        Page page = prefetched.page();
+        if (prefetched.engine().equals(engine.toLowerCase()) && prefetched.url().equals(url) && !page.isClosed()) {
+            try {
+                page.waitForURL(u -> !"about:blank".equals(u));
+                page.waitForLoadState(LoadState.LOAD);
+                // Страница ошибки сети (chrome-error://, about:neterror) - не заготовка
+                if (page.url().startsWith("http")) {
+                    return page;
+                }
+            } catch (PlaywrightException e) {
+                // Заготовка не догрузилась, тест откроет страницу сам
+            }
+        }
+        close(prefetched.page().context());
+        return null;
+    }
+
+    public static void discardPrefetched() {
+        Worker worker = WORKER.get();
+        Prefetched prefetched = worker.prefetched;
+        worker.prefetched = null;
+        if (prefetched != null) {
+            close(prefetched.page().context());
+        }
+    }
+
+    // Заготовки ещё не принадлежат тестам: телеметрия и поиск утечек их не считают
+    public static boolean isPrefetched(BrowserContext context) {
+        for (Worker worker : WORKERS) {
+            Prefetched prefetched = worker.prefetched;
+            if (prefetched != null && prefetched.page().context() == context) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Закрывает браузеры текущего потока, например при завершении рабочего потока.
+     */
+    public static void closeCurrentWorker() {
+        discardPrefetched();
+        Worker worker = WORKER.get();
+        WORKERS.remove(worker);
+        WORKER.remove();
+        worker.close();
+    }
+
+    static BrowserType browserType(Playwright playwright, String engine) {
+        switch (engine.toLowerCase()) {
+            case "firefox":
+                return playwright.firefox();
+            case "webkit":
+                return playwright.webkit();
+            default:
+                return playwright.chromium();
+        }
+    }
+
+    private static void close(BrowserContext context) {
+        try {
+            context.close();
+        } catch (Exception e) {
+            // Браузер мог уже упасть
+        }
+    }
+
+    private static Worker registerWorker() {
+        Worker worker = new Worker();
+        WORKERS.add(worker);
+        return worker;
+    }
+
+    private static void closeAll() {
+        Worker worker;
+        while ((worker = WORKERS.poll()) != null) {
+            worker.close();
+        }
+    }
+
+    private record Prefetched(String engine, String url, Page page) {
+    }
+
+    private static final class Worker {
+        private final Map<String, Browser> browsers = new ConcurrentHashMap<>();
+        private Playwright playwright;
+        private volatile Prefetched prefetched;
+
+        Playwright playwright() {
+            if (playwright == null) {
+                playwright = Playwright.create();
+            }
+            return playwright;
+        }
+
+        Browser browser(String engine) {
+            Browser browser = browsers.get(engine);
+            if (browser == null || !browser.isConnected()) {
+                browser = browserType(playwright(), engine).launch(new BrowserType.LaunchOptions()
+                        .setHeadless(ConfigRegistry.get(EnvConfig.class).headless()));
+                browsers.put(engine, browser);
+            }
+            return browser;
+        }
+
+        void close() {
+            prefetched = null;
+            for (Browser browser : browsers.values()) {
+                try {
+                    browser.close();
+                } catch (Exception e) {
+                    // Браузер мог уже упасть
+                }
+            }
+            browsers.clear();
+            if (playwright != null) {
+                try {
+                    playwright.close();
+                } catch (Exception e) {
+                    // Игнор исключения
+                }
+                playwright = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.Browser;
+
+/**
+ * Параметры эмуляции устройства для {@link Browser.NewContextOptions}.
+ * {@code userAgent == null} - оставить user agent браузера.
+ */
+public record DeviceProfile(String name, String userAgent, int width, int height,
+                            double scaleFactor, boolean mobile, boolean touch) {
+
+    public Browser.NewContextOptions contextOptions() {
+        Browser.NewContextOptions options = new Browser.NewContextOptions()
+                .setViewportSize(width, height)
+                .setDeviceScaleFactor(scaleFactor);
+        // isMobile не поддерживается Firefox, поэтому флаги выставляем только когда они нужны
+        if (mobile) {
+            options.setIsMobile(true);
+        }
+        if (touch) {
+            options.setHasTouch(true);
+        }
+        if (userAgent != null) {
+            options.setUserAgent(userAgent);
+        }
+        return options;
+    }
+}
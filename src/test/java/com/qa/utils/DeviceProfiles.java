@@ -0,0 +1,132 @@
+package com.qa.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Реестр профилей устройств: встроенные плюс пользовательские из {@code devices.properties}
+ * (classpath или путь из {@code -Ddevices.file}). Формат пользовательского профиля:
+ * <pre>
+ * pixel-7.userAgent=Mozilla/5.0 (Linux; Android 13; Pixel 7) ...
+ * pixel-7.viewport=412x915
+ * pixel-7.scale=2.625
+ * pixel-7.mobile=true
+ * pixel-7.touch=true
+ * </pre>
+ * Пользовательский профиль с именем встроенного заменяет его.
+ */
+public final class DeviceProfiles {
+    public static final String DESKTOP = "desktop";
+
+    private static final String DEVICES_FILE = "devices.properties";
+
+    private DeviceProfiles() {
+    }
+
+    public static DeviceProfile get(String name) {
+        DeviceProfile profile = Holder.PROFILES.get(name);
+        if (profile == null) {
+            throw new IllegalArgumentException("Неизвестный профиль устройства: " + name
+                    + ", доступны: " + Holder.PROFILES.keySet());
+        }
+        return profile;
+    }
+
+    public static Collection<DeviceProfile> all() {
+        return Holder.PROFILES.values();
+    }
+
+    private static final class Holder {
+        private static final Map<String, DeviceProfile> PROFILES = load();
+
+        private static Map<String, DeviceProfile> load() {
+            Map<String, DeviceProfile> profiles = new LinkedHashMap<>();
+            builtIn(profiles);
+            Properties props = readUserFile();
+            Set<String> names = new TreeSet<>();
+            for (String key : props.stringPropertyNames()) {
+                int dot = key.lastIndexOf('.');
+                if (dot > 0) {
+                    names.add(key.substring(0, dot));
+                }
+            }
+            for (String name : names) {
+                profiles.put(name, parse(name, props));
+            }
+            return Collections.unmodifiableMap(profiles);
+        }
+
+        private static void builtIn(Map<String, DeviceProfile> profiles) {
+            add(profiles, new DeviceProfile(DESKTOP, null, 1280, 720, 1, false, false));
+            add(profiles, new DeviceProfile("galaxy-s22",
+                    "Mozilla/5.0 (Linux; Android 12; SM-S908B) AppleWebKit/537.36"
+                            + "(KHTML, like Gecko) Chrome/101.0.0.0 Mobile Safari/537.36",
+                    384, 873, 3.5, true, true));
+            add(profiles, new DeviceProfile("ipad-pro-11",
+                    "Mozilla/5.0 (iPad; CPU OS 15_0 like Mac OS X) AppleWebKit/605.1.14"
+                            + "(KHTML, like Gecko)",
+                    834, 1194, 2, true, true));
+            add(profiles, new DeviceProfile("iphone-13",
+                    "Mozilla/5.0 (iPhone; CPU iPhone OS 15_0 like Mac OS X) AppleWebKit/605.1.15 "
+                            + "(KHTML, like Gecko) Version/15.0 Mobile/15E148 Safari/604.1",
+                    390, 844, 3, true, true));
+            add(profiles, new DeviceProfile("pixel-5",
+                    "Mozilla/5.0 (Linux; Android 11; Pixel 5) AppleWebKit/537.36 "
+                            + "(KHTML, like Gecko) Chrome/90.0.4430.91 Mobile Safari/537.36",
+                    393, 851, 2.75, true, true));
+        }
+
+        private static void add(Map<String, DeviceProfile> profiles, DeviceProfile profile) {
+            profiles.put(profile.name(), profile);
+        }
+
+        private static DeviceProfile parse(String name, Properties props) {
+            String viewport = props.getProperty(name + ".viewport", "1280x720");
+            String[] size = viewport.toLowerCase().split("x");
+            if (size.length != 2) {
+                throw new IllegalArgumentException("Ожидался viewport вида 390x844 для " + name + ": " + viewport);
+            }
+            return new DeviceProfile(name,
+                    props.getProperty(name + ".userAgent"),
+                    Integer.parseInt(size[0].trim()),
+                    Integer.parseInt(size[1].trim()),
+                    Double.parseDouble(props.getProperty(name + ".scale", "1")),
+                    Boolean.parseBoolean(props.getProperty(name + ".mobile", "false")),
+                    Boolean.parseBoolean(props.getProperty(name + ".touch", "false")));
+        }
+
+        private static Properties readUserFile() {
+            Properties props = new Properties();
+            String file = System.getProperty("devices.file");
+            try {
+                if (file != null) {
+                    Path path = Paths.get(file);
+                    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                        props.load(reader);
+                    }
+                } else {
+                    try (InputStream input = DeviceProfiles.class.getClassLoader().getResourceAsStream(DEVICES_FILE)) {
+                        if (input != null) {
+                            props.load(input);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Не удалось прочитать профили устройств", e);
+            }
+            return props;
+        }
+    }
+}
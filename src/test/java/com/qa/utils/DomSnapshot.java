@@ -0,0 +1,221 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.Page;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Снимок состояния нескольких элементов страницы за один вызов {@code page.evaluate}.
+ * Вместо отдельного RPC на каждый {@code textContent()}/{@code isChecked()} собираем
+ * текст, checked, видимость, доступность и атрибуты всех элементов разом и проверяем уже снимок.
+ * <p>
+ * Селекторы - обычный CSS ({@code document.querySelectorAll}), индекс -1 означает последний элемент.
+ */
+public class DomSnapshot {
+    public static final int DEFAULT_TIMEOUT_MS = 30_000;
+
+    private static final String SCRIPT = """
+            async ({ specs, attributes, timeout }) => {
+              const pick = (spec) => {
+                const all = document.querySelectorAll(spec.selector);
+                return all[spec.index < 0 ? all.length + spec.index : spec.index] || null;
+              };
+              const ready = () => specs.every(spec => spec.optional || pick(spec) !== null);
+              const read = () => specs.map(spec => {
+                const el = pick(spec);
+                if (!el) {
+                  return { present: false };
+                }
+                const rect = el.getBoundingClientRect();
+                const style = getComputedStyle(el);
+                const checkable = el.type === 'checkbox' || el.type === 'radio';
+                return {
+                  present: true,
+                  text: el.textContent,
+                  checked: checkable ? el.checked : el.getAttribute('aria-checked') === 'true',
+                  visible: rect.width > 0 && rect.height > 0 && style.visibility !== 'hidden',
+                  enabled: !el.disabled && el.getAttribute('aria-disabled') !== 'true',
+                  attributes: Object.fromEntries(attributes.map(name => [name, el.getAttribute(name)]))
+                };
+              });
+              if (timeout > 0 && !ready()) {
+                // Ждём появления элементов в браузере, без опроса со стороны теста
+                await new Promise(resolve => {
+                  const timer = setTimeout(() => { observer.disconnect(); resolve(); }, timeout);
+                  const observer = new MutationObserver(() => {
+                    if (ready()) {
+                      clearTimeout(timer);
+                      observer.disconnect();
+                      resolve();
+                    }
+                  });
+                  observer.observe(document, { childList: true, subtree: true, attributes: true });
+                });
+              }
+              return read();
+            }
+            """;
+
+    private final Map<String, ElementState> elements;
+
+    private DomSnapshot(Map<String, ElementState> elements) {
+        this.elements = elements;
+    }
+
+    public static Builder of(Page page) {
+        return new Builder(page);
+    }
+
+    public ElementState get(String key) {
+        ElementState state = elements.get(key);
+        if (state == null) {
+            throw new IllegalArgumentException("Элемент '" + key + "' не был добавлен в снимок");
+        }
+        return state;
+    }
+
+    public boolean isPresent(String key) {
+        return get(key).present();
+    }
+
+    public String text(String key) {
+        return get(key).text();
+    }
+
+    public boolean isChecked(String key) {
+        return get(key).checked();
+    }
+
+    public boolean isVisible(String key) {
+        return get(key).visible();
+    }
+
+    public boolean isEnabled(String key) {
+        return get(key).enabled();
+    }
+
+    public String attribute(String key, String name) {
+        return get(key).attributes().get(name);
+    }
+
+    public DomSnapshot assertText(String key, String expected) {
+        assertEquals(expected, text(key), "Текст элемента '" + key + "'");
+        return this;
+    }
+
+    public DomSnapshot assertChecked(String key, boolean expected) {
+        assertEquals(expected, isChecked(key), "Состояние checked элемента '" + key + "'");
+        return this;
+    }
+
+    public DomSnapshot assertVisible(String key, boolean expected) {
+        assertEquals(expected, isVisible(key), "Видимость элемента '" + key + "'");
+        return this;
+    }
+
+    public DomSnapshot assertEnabled(String key, boolean expected) {
+        assertEquals(expected, isEnabled(key), "Доступность элемента '" + key + "'");
+        return this;
+    }
+
+    public DomSnapshot assertAttribute(String key, String name, String expected) {
+        assertEquals(expected, attribute(key, name), "Атрибут " + name + " элемента '" + key + "'");
+        return this;
+    }
+
+    public record ElementState(boolean present, String text, boolean checked, boolean visible,
+                               boolean enabled, Map<String, String> attributes) {
+        static final ElementState MISSING = new ElementState(false, null, false, false, false, Map.of());
+    }
+
+    public static class Builder {
+        private final Page page;
+        private final Map<String, Map<String, Object>> specs = new LinkedHashMap<>();
+        private final List<String> attributes = new ArrayList<>();
+
+        private Builder(Page page) {
+            this.page = page;
+        }
+
+        public Builder element(String key, String selector) {
+            return element(key, selector, 0);
+        }
+
+        public Builder element(String key, String selector, int index) {
+            specs.put(key, Map.of("selector", selector, "index", index, "optional", false));
+            return this;
+        }
+
+        /**
+         * Элемент, появления которого не нужно ждать: например, проверка, что он исчез.
+         */
+        public Builder optionalElement(String key, String selector) {
+            specs.put(key, Map.of("selector", selector, "index", 0, "optional", true));
+            return this;
+        }
+
+        public Builder attributes(String... names) {
+            Collections.addAll(attributes, names);
+            return this;
+        }
+
+        /**
+         * Читает состояние как есть, без ожидания: отсутствующие элементы помечаются как {@code present=false}.
+         */
+        public DomSnapshot capture() {
+            return evaluate(0);
+        }
+
+        /**
+         * Перед чтением дожидается, пока все обязательные элементы появятся в DOM (аналог автоожидания Playwright).
+         */
+        public DomSnapshot captureWhenAttached() {
+            return captureWhenAttached(DEFAULT_TIMEOUT_MS);
+        }
+
+        public DomSnapshot captureWhenAttached(int timeoutMs) {
+            return evaluate(timeoutMs);
+        }
+
+        @SuppressWarnings("unchecked")
+        private DomSnapshot evaluate(int timeoutMs) {
+            List<String> keys = new ArrayList<>(specs.keySet());
+            Map<String, Object> arg = Map.of(
+                    "specs", new ArrayList<>(specs.values()),
+                    "attributes", attributes,
+                    "timeout", timeoutMs);
+            List<Map<String, Object>> raw = (List<Map<String, Object>>) page.evaluate(SCRIPT, arg);
+
+            Map<String, ElementState> result = new LinkedHashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                result.put(keys.get(i), toState(raw.get(i)));
+            }
+            return new DomSnapshot(result);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static ElementState toState(Map<String, Object> raw) {
+            if (!Boolean.TRUE.equals(raw.get("present"))) {
+                return ElementState.MISSING;
+            }
+            Map<String, String> attrs = new LinkedHashMap<>();
+            Object rawAttrs = raw.get("attributes");
+            if (rawAttrs instanceof Map) {
+                ((Map<String, Object>) rawAttrs).forEach((name, value) ->
+                        attrs.put(name, value == null ? null : value.toString()));
+            }
+            return new ElementState(true,
+                    (String) raw.get("text"),
+                    Boolean.TRUE.equals(raw.get("checked")),
+                    Boolean.TRUE.equals(raw.get("visible")),
+                    Boolean.TRUE.equals(raw.get("enabled")),
+                    Collections.unmodifiableMap(attrs));
+        }
+    }
+}
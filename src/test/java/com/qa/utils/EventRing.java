@@ -0,0 +1,134 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.ConsoleMessage;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+
+/**
+ * Последние N событий страницы: сообщения консоли, неперехваченные JS-ошибки и упавшие запросы.
+ * <p>
+ * Массивы выделяются один раз, обработчик только кладёт ссылку на событие в ячейку, поэтому
+ * на зелёном прогоне накладные расходы почти нулевые; текст форматируется лишь в {@link #dump()}.
+ * Как и сам Playwright, кольцо используется из одного потока: события приходят в потоке теста.
+ */
+public final class EventRing {
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    public enum Kind {
+        CONSOLE, PAGE_ERROR, REQUEST_FAILED
+    }
+
+    private final Kind[] kinds;
+    private final Object[] events;
+    private final long[] times;
+    private int next;
+    private long total;
+    private int pageErrors;
+
+    private final Consumer<ConsoleMessage> onConsole = message -> add(Kind.CONSOLE, message);
+    private final Consumer<String> onPageError = error -> add(Kind.PAGE_ERROR, error);
+    private final Consumer<Request> onRequestFailed = request -> add(Kind.REQUEST_FAILED, request);
+    private Page page;
+
+    public EventRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Размер кольца должен быть положительным: " + capacity);
+        }
+        this.kinds = new Kind[capacity];
+        this.events = new Object[capacity];
+        this.times = new long[capacity];
+    }
+
+    /**
+     * Подписывает кольцо на события страницы.
+     */
+    public EventRing attach(Page page) {
+        detach();
+        page.onConsoleMessage(onConsole);
+        page.onPageError(onPageError);
+        page.onRequestFailed(onRequestFailed);
+        this.page = page;
+        return this;
+    }
+
+    /**
+     * Снимает обработчики со страницы. Страницы со {@code @Scoped(CLASS/WORKER)} живут дольше теста,
+     * и без отписки на них копились бы обработчики, удерживающие старые кольца.
+     */
+    public void detach() {
+        if (page == null) {
+            return;
+        }
+        page.offConsoleMessage(onConsole);
+        page.offPageError(onPageError);
+        page.offRequestFailed(onRequestFailed);
+        page = null;
+    }
+
+    public void add(Kind kind, Object event) {
+        int i = next;
+        kinds[i] = kind;
+        events[i] = event;
+        times[i] = System.currentTimeMillis();
+        next = i + 1 == kinds.length ? 0 : i + 1;
+        total++;
+        if (kind == Kind.PAGE_ERROR) {
+            pageErrors++;
+        }
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public int pageErrors() {
+        return pageErrors;
+    }
+
+    /**
+     * События от старых к новым, по одному в строке.
+     */
+    public String dump() {
+        int capacity = kinds.length;
+        int size = (int) Math.min(total, capacity);
+        StringBuilder out = new StringBuilder();
+        if (total > capacity) {
+            out.append("... пропущено ранних событий: ").append(total - capacity).append('\n');
+        }
+        for (int n = 0; n < size; n++) {
+            int i = (next - size + n + capacity) % capacity;
+            out.append(TIME.format(Instant.ofEpochMilli(times[i]))).append(' ');
+            format(out, kinds[i], events[i]);
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void format(StringBuilder out, Kind kind, Object event) {
+        switch (kind) {
+            case CONSOLE:
+                ConsoleMessage message = (ConsoleMessage) event;
+                out.append("[console.").append(message.type()).append("] ").append(message.text());
+                if (message.location() != null && !message.location().isEmpty()) {
+                    out.append(" (").append(message.location()).append(')');
+                }
+                break;
+            case PAGE_ERROR:
+                out.append("[pageerror] ").append(event);
+                break;
+            case REQUEST_FAILED:
+                Request request = (Request) event;
+                out.append("[requestfailed] ").append(request.method()).append(' ').append(request.url())
+                        .append(" - ").append(request.failure());
+                break;
+            default:
+                out.append(event);
+        }
+    }
+}
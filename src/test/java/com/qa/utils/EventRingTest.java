@@ -0,0 +1,58 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.ConsoleMessage;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.*;
+
+public class EventRingTest {
+
+    @Test
+    void testOnlyLastEventsAreKept() {
+        EventRing ring = new EventRing(3);
+        for (int i = 1; i <= 5; i++) {
+            ring.add(EventRing.Kind.PAGE_ERROR, "error " + i);
+        }
+
+        String dump = ring.dump();
+        assertEquals(5, ring.total());
+        assertEquals(5, ring.pageErrors());
+        assertTrue(dump.contains("пропущено ранних событий: 2"));
+        assertFalse(dump.contains("error 2"));
+        assertTrue(dump.indexOf("error 3") < dump.indexOf("error 5"));
+    }
+
+    @Test
+    void testEmptyRingDumpsNothing() {
+        assertEquals("", new EventRing(4).dump());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDetachRemovesAttachedHandlers() {
+        Page page = mock(Page.class);
+        ArgumentCaptor<Consumer<ConsoleMessage>> console = ArgumentCaptor.forClass(Consumer.class);
+        ArgumentCaptor<Consumer<String>> pageError = ArgumentCaptor.forClass(Consumer.class);
+        ArgumentCaptor<Consumer<Request>> requestFailed = ArgumentCaptor.forClass(Consumer.class);
+
+        EventRing ring = new EventRing(4).attach(page);
+        verify(page).onConsoleMessage(console.capture());
+        verify(page).onPageError(pageError.capture());
+        verify(page).onRequestFailed(requestFailed.capture());
+
+        ring.detach();
+        ring.detach();
+        verify(page).offConsoleMessage(same(console.getValue()));
+        verify(page).offPageError(same(pageError.getValue()));
+        verify(page).offRequestFailed(same(requestFailed.getValue()));
+        verify(page, times(1)).offConsoleMessage(any());
+    }
+}
@@ -0,0 +1,237 @@
+package com.qa.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ExtentReports, который пишет результаты на диск по мере выполнения.
+ * <p>
+ * Каждый шаг дописывается строкой JSON в журнал ({@code target/extent-journal.jsonl}) и сразу сбрасывается
+ * в файл, в памяти ничего не копится, скриншоты хранятся путями, а не base64. HTML (Spark) собирается
+ * из журнала один раз при завершении JVM. Журнал общий для всех классов и потоков. Если прогон упал,
+ * отчёт по уже записанной части можно собрать вручную:
+ * {@code mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.qa.utils.ExtentJournal}.
+ */
+public final class ExtentJournal implements AutoCloseable {
+    public static final Path DEFAULT_JOURNAL = Paths.get("target", "extent-journal.jsonl");
+    public static final Path DEFAULT_REPORT = Paths.get("target", "extent-report.html");
+    private static final String TITLE = "Playwright Extent Report";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static volatile ExtentJournal instance;
+
+    private final Path journal;
+    private final Writer out;
+    private final AtomicLong ids = new AtomicLong();
+
+    public ExtentJournal(Path journal) {
+        this.journal = journal;
+        try {
+            Files.createDirectories(journal.toAbsolutePath().getParent());
+            this.out = Files.newBufferedWriter(journal, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось открыть журнал отчёта " + journal, e);
+        }
+    }
+
+    /**
+     * Общий журнал прогона, HTML-отчёт собирается из него при завершении JVM.
+     */
+    public static ExtentJournal get() {
+        if (instance == null) {
+            synchronized (ExtentJournal.class) {
+                if (instance == null) {
+                    ExtentJournal created = new ExtentJournal(DEFAULT_JOURNAL);
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        created.close();
+                        render(DEFAULT_JOURNAL, DEFAULT_REPORT);
+                    }, "extent-journal-render"));
+                    instance = created;
+                }
+            }
+        }
+        return instance;
+    }
+
+    public TestLog createTest(String name) {
+        long id = ids.incrementAndGet();
+        Map<String, Object> event = event("start", id);
+        event.put("name", name);
+        append(event);
+        return new TestLog(id);
+    }
+
+    public Path path() {
+        return journal;
+    }
+
+    @Override
+    public void close() {
+        synchronized (out) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Журнал уже закрыт
+            }
+        }
+    }
+
+    /**
+     * Собирает Spark HTML из журнала. Недописанная последняя строка (падение JVM) пропускается.
+     */
+    public static void render(Path journal, Path report) {
+        if (!Files.exists(journal)) {
+            return;
+        }
+        ExtentSparkReporter reporter = new ExtentSparkReporter(report.toString());
+        reporter.config().setDocumentTitle(TITLE);
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(reporter);
+        Path reportDir = report.toAbsolutePath().getParent();
+        Map<Long, ExtentTest> tests = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JsonNode node;
+                try {
+                    node = MAPPER.readTree(line);
+                } catch (IOException e) {
+                    continue;
+                }
+                long id = node.path("id").asLong();
+                if ("start".equals(node.path("type").asText())) {
+                    tests.put(id, extent.createTest(node.path("name").asText()));
+                    continue;
+                }
+                ExtentTest test = tests.get(id);
+                if (test == null) {
+                    continue;
+                }
+                Status status = Status.valueOf(node.path("status").asText(Status.INFO.name()));
+                String message = node.path("message").asText("");
+                switch (node.path("type").asText()) {
+                    case "media":
+                        Path media = Paths.get(node.path("path").asText());
+                        String link = reportDir.relativize(media.toAbsolutePath()).toString().replace('\\', '/');
+                        test.log(status, message, MediaEntityBuilder.createScreenCaptureFromPath(link).build());
+                        break;
+                    case "error":
+                        test.log(status, MarkupHelper.createCodeBlock(message));
+                        break;
+                    default:
+                        test.log(status, message);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось прочитать журнал отчёта " + journal, e);
+        }
+        extent.flush();
+    }
+
+    public static void main(String[] args) {
+        Path journal = args.length > 0 ? Paths.get(args[0]) : DEFAULT_JOURNAL;
+        Path report = args.length > 1 ? Paths.get(args[1]) : DEFAULT_REPORT;
+        render(journal, report);
+        System.out.println("Отчёт собран: " + report.toAbsolutePath());
+    }
+
+    private void append(Map<String, Object> event) {
+        String line;
+        try {
+            line = MAPPER.writeValueAsString(event);
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось сериализовать событие отчёта", e);
+        }
+        synchronized (out) {
+            try {
+                out.write(line);
+                out.write('\n');
+                // Сбрасываем каждую строку, чтобы при падении JVM журнал остался целым
+                out.flush();
+            } catch (IOException e) {
+                System.err.println("Не удалось записать в журнал отчёта: " + e.getMessage());
+            }
+        }
+    }
+
+    private static Map<String, Object> event(String type, long id) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("id", id);
+        event.put("ts", System.currentTimeMillis());
+        return event;
+    }
+
+    /**
+     * Тест в журнале, аналог {@link ExtentTest}. Потокобезопасен.
+     */
+    public final class TestLog {
+        private final long id;
+
+        private TestLog(long id) {
+            this.id = id;
+        }
+
+        public TestLog log(Status status, String message) {
+            Map<String, Object> event = event("log", id);
+            event.put("status", status.name());
+            event.put("message", message);
+            append(event);
+            return this;
+        }
+
+        public TestLog info(String message) {
+            return log(Status.INFO, message);
+        }
+
+        public TestLog pass(String message) {
+            return log(Status.PASS, message);
+        }
+
+        public TestLog fail(String message) {
+            return log(Status.FAIL, message);
+        }
+
+        public TestLog fail(Throwable error) {
+            StringWriter stack = new StringWriter();
+            error.printStackTrace(new PrintWriter(stack));
+            Map<String, Object> event = event("error", id);
+            event.put("status", Status.FAIL.name());
+            event.put("message", stack.toString());
+            append(event);
+            return this;
+        }
+
+        /**
+         * Скриншот по пути на диске (например, из {@link ArtifactStore}), в отчёт попадает ссылка.
+         */
+        public TestLog screenshot(Status status, String message, Path path) {
+            Map<String, Object> event = event("media", id);
+            event.put("status", status.name());
+            event.put("message", message);
+            event.put("path", path.toAbsolutePath().toString());
+            append(event);
+            return this;
+        }
+    }
+}
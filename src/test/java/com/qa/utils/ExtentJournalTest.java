@@ -0,0 +1,50 @@
+package com.qa.utils;
+
+import com.aventstack.extentreports.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExtentJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testEventsAreOnDiskBeforeClose() throws Exception {
+        ExtentJournal journal = new ExtentJournal(dir.resolve("journal.jsonl"));
+        journal.createTest("Первый").info("шаг").pass("готово");
+
+        List<String> lines = Files.readAllLines(journal.path());
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(2).contains("\"PASS\""));
+        journal.close();
+    }
+
+    @Test
+    void testReportIsRenderedFromPartialJournal() throws Exception {
+        ExtentJournal journal = new ExtentJournal(dir.resolve("journal.jsonl"));
+        ExtentJournal.TestLog test = journal.createTest("Упавший тест");
+        test.screenshot(Status.FAIL, "Скриншот", dir.resolve("shot.png"));
+        test.fail(new IllegalStateException("сломалось"));
+        journal.close();
+        // Имитация падения JVM посреди записи строки
+        Files.writeString(journal.path(), "{\"type\":\"log\",\"id\":1,\"sta", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        Path report = dir.resolve("report.html");
+        ExtentJournal.render(journal.path(), report);
+
+        String html = Files.readString(report, StandardCharsets.UTF_8);
+        assertTrue(html.contains("Упавший тест"));
+        assertTrue(html.contains("shot.png"));
+        assertTrue(html.contains("сломалось"));
+    }
+}
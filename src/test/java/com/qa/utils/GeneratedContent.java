@@ -0,0 +1,67 @@
+package com.qa.utils;
+
+import java.io.InputStream;
+
+/**
+ * Детерминированный псевдослучайный поток заданной длины: файл любого размера без диска и без кучи.
+ * Одинаковые {@code size} и {@code seed} дают одинаковые байты, поэтому ожидаемую контрольную сумму
+ * можно посчитать, прочитав второй такой же поток.
+ */
+public final class GeneratedContent extends InputStream {
+    private final long size;
+    private long position;
+    private long state;
+    private long word;
+    private int wordBytes;
+
+    public GeneratedContent(long size, long seed) {
+        this.size = size;
+        // xorshift не работает с нулевым состоянием
+        this.state = seed == 0 ? 0x9E3779B97F4A7C15L : seed;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public int read() {
+        if (position >= size) {
+            return -1;
+        }
+        position++;
+        return nextByte();
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        if (position >= size) {
+            return -1;
+        }
+        int n = (int) Math.min(length, size - position);
+        for (int i = 0; i < n; i++) {
+            buffer[offset + i] = (byte) nextByte();
+        }
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, size - position);
+    }
+
+    private int nextByte() {
+        if (wordBytes == 0) {
+            state ^= state << 13;
+            state ^= state >>> 7;
+            state ^= state << 17;
+            word = state;
+            wordBytes = 8;
+        }
+        int b = (int) (word & 0xFF);
+        word >>>= 8;
+        wordBytes--;
+        return b;
+    }
+}
@@ -0,0 +1,277 @@
+package com.qa.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.options.WaitUntilState;
+import com.qa.config.ConfigRegistry;
+import com.qa.config.CrawlConfig;
+import com.qa.config.EnvConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Обход сайта в ширину для дымового тестирования всех страниц, достижимых со стартовой.
+ * <p>
+ * Уровень глубины обходят {@code workers} потоков: у каждого свой браузер из {@link BrowserPool}
+ * и один контекст на весь обход, страницы берутся из общей очереди уровня. Следующий уровень
+ * начинается, когда все потоки дошли до {@link Phaser}, поэтому страницы открываются строго по
+ * возрастанию глубины. Ссылки берутся только со своего origin, адреса отсеиваются {@link VisitedUrls}.
+ * <p>
+ * Для каждой страницы записываются код ответа, время до события load, ошибки консоли и страницы;
+ * проблемы - код не 2xx/3xx, ошибки консоли, превышение бюджета загрузки, сбой навигации.
+ * Обход останавливается по глубине, числу страниц или общему бюджету времени.
+ */
+public final class LinkCrawler {
+
+    public record Options(int maxDepth, int maxPages, int workers, Duration timeBudget, long pageBudgetMs,
+                          Pattern exclude) {
+
+        public static Options fromConfig() {
+            CrawlConfig config = ConfigRegistry.get(CrawlConfig.class);
+            return new Options(config.maxDepth(), config.maxPages(), config.workers(),
+                    Duration.ofSeconds(config.timeBudgetSeconds()), config.pageBudgetMs(),
+                    config.exclude().isBlank() ? null : Pattern.compile(config.exclude()));
+        }
+    }
+
+    public record PageResult(String url, int depth, String parent, int status, long loadMs, int links,
+                             List<String> consoleErrors, String error, List<String> problems) {
+
+        public boolean passed() {
+            return problems.isEmpty();
+        }
+    }
+
+    public record Sitemap(String start, long elapsedMs, String stopReason, List<PageResult> pages) {
+
+        public List<PageResult> failures() {
+            return pages.stream().filter(p -> !p.passed()).toList();
+        }
+
+        public void write(Path file) throws IOException {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+        }
+
+        public void assertAllPassed() {
+            List<PageResult> failures = failures();
+            if (failures.isEmpty()) {
+                return;
+            }
+            StringBuilder message = new StringBuilder("Проблемы на " + failures.size() + " из " + pages.size()
+                    + " страниц:");
+            failures.forEach(p -> message.append("\n  ").append(p.url()).append(" (со страницы ")
+                    .append(p.parent()).append("): ").append(String.join("; ", p.problems())));
+            throw new AssertionError(message.toString());
+        }
+    }
+
+    private record Link(String url, int depth, String parent) {
+    }
+
+    private final Options options;
+    private final String engine;
+    private final VisitedUrls visited;
+    private final Queue<PageResult> results = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean outOfTime = new AtomicBoolean();
+    private final AtomicBoolean outOfPages = new AtomicBoolean();
+    private volatile Queue<Link> current = new ConcurrentLinkedQueue<>();
+    private volatile Queue<Link> next = new ConcurrentLinkedQueue<>();
+    private volatile Throwable fatal;
+    private String origin;
+    private long deadline;
+
+    public LinkCrawler(Options options) {
+        this(options, ConfigRegistry.get(EnvConfig.class).browser());
+    }
+
+    public LinkCrawler(Options options, String engine) {
+        this.options = options;
+        this.engine = engine;
+        this.visited = new VisitedUrls(options.maxPages());
+    }
+
+    public Sitemap crawl(String startUrl) {
+        String start = VisitedUrls.normalize(startUrl);
+        if (start == null) {
+            throw new IllegalArgumentException("Стартовый адрес должен быть http(s): " + startUrl);
+        }
+        origin = origin(start);
+        long started = System.nanoTime();
+        deadline = started + options.timeBudget().toNanos();
+        visited.add(start);
+        current.add(new Link(start, 0, null));
+
+        int workers = Math.max(1, options.workers());
+        Phaser levels = new Phaser(workers) {
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) {
+                Queue<Link> done = current;
+                current = next;
+                next = done;
+                return registeredParties == 0 || current.isEmpty() || outOfTime();
+            }
+        };
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(() -> work(levels), "link-crawler-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Обход прерван", e);
+            }
+        }
+        if (results.isEmpty() && fatal != null) {
+            throw new RuntimeException("Обход не выполнен: " + fatal.getMessage(), fatal);
+        }
+
+        List<PageResult> pages = new ArrayList<>(results);
+        pages.sort((a, b) -> a.depth() != b.depth() ? Integer.compare(a.depth(), b.depth()) : a.url().compareTo(b.url()));
+        String stopReason = outOfTime.get() ? "time budget" : outOfPages.get() ? "page limit" : "complete";
+        return new Sitemap(start, (System.nanoTime() - started) / 1_000_000, stopReason, pages);
+    }
+
+    private void work(Phaser levels) {
+        BrowserContext context = null;
+        try {
+            context = BrowserPool.browser(engine).newContext();
+            List<String> errors = Collections.synchronizedList(new ArrayList<>());
+            Page page = newPage(context, errors);
+            while (!levels.isTerminated()) {
+                Link link = current.poll();
+                if (link == null) {
+                    levels.arriveAndAwaitAdvance();
+                } else if (outOfTime()) {
+                    current.clear();
+                } else {
+                    if (page.isClosed()) {
+                        page = newPage(context, errors);
+                    }
+                    errors.clear();
+                    results.add(visit(page, link, errors));
+                }
+            }
+        } catch (Throwable t) {
+            fatal = t;
+        } finally {
+            // Выбывший поток не должен держать остальных на границе уровня
+            if (!levels.isTerminated()) {
+                levels.arriveAndDeregister();
+            }
+            if (context != null) {
+                context.close();
+            }
+            BrowserPool.closeCurrentWorker();
+        }
+    }
+
+    private static Page newPage(BrowserContext context, List<String> errors) {
+        Page page = context.newPage();
+        page.onConsoleMessage(message -> {
+            if ("error".equals(message.type())) {
+                errors.add(message.text());
+            }
+        });
+        page.onPageError(errors::add);
+        return page;
+    }
+
+    private PageResult visit(Page page, Link link, List<String> errors) {
+        int status = 0;
+        long loadMs = 0;
+        int links = 0;
+        String error = null;
+        long start = System.nanoTime();
+        try {
+            Response response = page.navigate(link.url(), new Page.NavigateOptions()
+                    .setWaitUntil(WaitUntilState.LOAD)
+                    .setTimeout(Math.max(options.pageBudgetMs() * 3, 30_000)));
+            loadMs = (System.nanoTime() - start) / 1_000_000;
+            status = response == null ? 0 : response.status();
+            // После редиректа на чужой сайт ссылки не собираются
+            if (link.depth() < options.maxDepth() && sameOrigin(page.url())) {
+                links = enqueue(page, link);
+            }
+        } catch (Throwable t) {
+            loadMs = (System.nanoTime() - start) / 1_000_000;
+            String message = String.valueOf(t.getMessage()).lines().findFirst().orElse("");
+            error = t.getClass().getSimpleName() + ": " + message;
+        }
+
+        List<String> consoleErrors = List.copyOf(errors);
+        List<String> problems = new ArrayList<>();
+        if (error != null) {
+            problems.add(error);
+        } else if (status == 0 || status >= 400) {
+            problems.add("код ответа " + status);
+        }
+        if (!consoleErrors.isEmpty()) {
+            problems.add("ошибок в консоли: " + consoleErrors.size() + ", первая: " + consoleErrors.get(0));
+        }
+        if (error == null && loadMs > options.pageBudgetMs()) {
+            problems.add("загрузка " + loadMs + " мс при бюджете " + options.pageBudgetMs() + " мс");
+        }
+        return new PageResult(link.url(), link.depth(), link.parent(), status, loadMs, links, consoleErrors,
+                error, problems);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int enqueue(Page page, Link link) {
+        List<String> hrefs = (List<String>) page.evalOnSelectorAll("a[href]", "els => els.map(e => e.href)");
+        int found = 0;
+        for (String href : hrefs) {
+            String url = VisitedUrls.normalize(href);
+            if (url == null || !sameOrigin(url)
+                    || options.exclude() != null && options.exclude().matcher(url).matches()) {
+                continue;
+            }
+            found++;
+            if (visited.size() >= options.maxPages()) {
+                outOfPages.set(true);
+                break;
+            }
+            if (visited.add(url)) {
+                next.add(new Link(url, link.depth() + 1, link.url()));
+            }
+        }
+        return found;
+    }
+
+    private boolean outOfTime() {
+        if (System.nanoTime() - deadline > 0) {
+            outOfTime.set(true);
+        }
+        return outOfTime.get();
+    }
+
+    private boolean sameOrigin(String url) {
+        String normalized = VisitedUrls.normalize(url);
+        return normalized != null && origin.equals(origin(normalized));
+    }
+
+    // Для нормализованного адреса
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+    }
+}
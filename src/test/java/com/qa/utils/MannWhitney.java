@@ -0,0 +1,104 @@
+package com.qa.utils;
+
+import java.util.Arrays;
+
+/**
+ * Односторонний U-критерий Манна-Уитни: «выборка current систематически больше baseline».
+ * Не требует нормальности, поэтому подходит для времён отклика с длинным хвостом.
+ * p-value считается нормальной аппроксимацией с поправкой на связки и на непрерывность,
+ * размер эффекта - дельта Клиффа (-1..1, доля пар «current > baseline» минус доля обратных).
+ */
+public final class MannWhitney {
+
+    private MannWhitney() {
+    }
+
+    public static Result greater(double[] current, double[] baseline) {
+        int n1 = current.length;
+        int n2 = baseline.length;
+        if (n1 == 0 || n2 == 0) {
+            throw new IllegalArgumentException("Пустая выборка");
+        }
+        int n = n1 + n2;
+        double[][] all = new double[n][];
+        for (int i = 0; i < n1; i++) {
+            all[i] = new double[]{current[i], 1};
+        }
+        for (int i = 0; i < n2; i++) {
+            all[n1 + i] = new double[]{baseline[i], 0};
+        }
+        Arrays.sort(all, (a, b) -> Double.compare(a[0], b[0]));
+
+        // Средние ранги для связок
+        double rankSumCurrent = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j + 1 < n && all[j + 1][0] == all[i][0]) {
+                j++;
+            }
+            double rank = (i + j) / 2.0 + 1;
+            int ties = j - i + 1;
+            tieTerm += (double) ties * ties * ties - ties;
+            for (int k = i; k <= j; k++) {
+                if (all[k][1] == 1) {
+                    rankSumCurrent += rank;
+                }
+            }
+            i = j + 1;
+        }
+
+        double u = rankSumCurrent - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2.0;
+        double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        double p;
+        if (variance <= 0) {
+            p = u > mean ? 0 : 1;
+        } else {
+            double z = (u - mean - 0.5) / Math.sqrt(variance);
+            p = 1 - normalCdf(z);
+        }
+        double cliffsDelta = 2 * u / (n1 * (double) n2) - 1;
+        return new Result(u, p, cliffsDelta);
+    }
+
+    /**
+     * Наименьшее p-value, которое {@link #greater} может выдать для выборок такого размера: все
+     * current больше всех baseline, связок нет. Если оно не меньше порога значимости, критерий
+     * на этих выборках не сработает ни при каком замедлении.
+     */
+    public static double minPValue(int n1, int n2) {
+        if (n1 == 0 || n2 == 0) {
+            return 1;
+        }
+        double mean = n1 * (double) n2 / 2.0;
+        double z = (n1 * (double) n2 - mean - 0.5) / Math.sqrt(n1 * (double) n2 * (n1 + n2 + 1) / 12.0);
+        return 1 - normalCdf(z);
+    }
+
+    // Φ(z) через erf (Абрамовиц-Стиган 7.1.26, погрешность < 1.5e-7)
+    static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t
+                + 0.254829592) * t * Math.exp(-x * x);
+        return z >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+    }
+
+    public record Result(double u, double pValue, double cliffsDelta) {
+
+        public String magnitude() {
+            double d = Math.abs(cliffsDelta);
+            if (d < 0.147) {
+                return "незначительный";
+            }
+            if (d < 0.33) {
+                return "малый";
+            }
+            if (d < 0.474) {
+                return "средний";
+            }
+            return "большой";
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Route;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Локальный мок-бэкенд: встроенный HTTP-сервер и перенаправление запросов страницы через {@code page.route}.
+ * <pre>{@code
+ * MockBackend backend = MockBackend.start();
+ * backend.get("/api/users/{id}")
+ *         .json("{\"id\": {{path.id}}, \"name\": \"{{query.name}}\"}")
+ *         .latency(MockBackend.Latency.percentiles(80, 400))
+ *         .errorRate(0.1, 503)
+ *         .bandwidth(64 * 1024);
+ * backend.route(page, "https://the-internet.herokuapp.com/api/**");
+ * ...
+ * backend.requests("GET", "/api/users/{id}");
+ * }</pre>
+ * Маршруты хранятся в дереве по сегментам пути, поэтому поиск стоит O(число сегментов),
+ * сколько бы заглушек ни было. Литеральный сегмент важнее параметра {@code {name}}.
+ * В шаблонах ответа доступны {@code {{path.x}}}, {@code {{query.x}}}, {@code {{header.x}}},
+ * {@code {{body}}}, {@code {{method}}} и {@code {{seq}}} (номер запроса к заглушке с единицы).
+ * Запросы без заглушки получают 404 и попадают в {@link #unmatched()}.
+ */
+public final class MockBackend implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Node root = new Node();
+    private final Map<String, Stub> registered = new ConcurrentHashMap<>();
+    private final Queue<RecordedRequest> unmatched = new ConcurrentLinkedQueue<>();
+    private final Random random;
+
+    private MockBackend(HttpServer server, ExecutorService executor, long seed) {
+        this.server = server;
+        this.executor = executor;
+        this.random = new Random(seed);
+    }
+
+    public static MockBackend start() {
+        return start(System.nanoTime());
+    }
+
+    // Фиксированный seed делает задержки и ошибки воспроизводимыми
+    public static MockBackend start(long seed) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            // Задержки спят в потоках обработчиков, поэтому пул не ограничен
+            ExecutorService executor = Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "mock-backend");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            MockBackend backend = new MockBackend(server, executor, seed);
+            server.createContext("/", backend::handle);
+            server.start();
+            return backend;
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось запустить мок-бэкенд", e);
+        }
+    }
+
+    public Stub get(String pathTemplate) {
+        return stub("GET", pathTemplate);
+    }
+
+    public Stub post(String pathTemplate) {
+        return stub("POST", pathTemplate);
+    }
+
+    /**
+     * Регистрирует заглушку, заглушка с тем же методом и путём заменяется.
+     */
+    public synchronized Stub stub(String method, String pathTemplate) {
+        Node node = root;
+        List<String> params = new ArrayList<>();
+        for (String segment : segments(pathTemplate)) {
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                params.add(segment.substring(1, segment.length() - 1));
+                if (node.param == null) {
+                    node.param = new Node();
+                }
+                node = node.param;
+            } else {
+                params.add(null);
+                node = node.literals.computeIfAbsent(segment, s -> new Node());
+            }
+        }
+        Stub stub = new Stub(method.toUpperCase(Locale.ROOT), params, random);
+        node.stubs.put(stub.method, stub);
+        registered.put(stub.method + " " + pathTemplate, stub);
+        return stub;
+    }
+
+    /**
+     * Запросы, дошедшие до заглушки, в порядке поступления.
+     */
+    public List<RecordedRequest> requests(String method, String pathTemplate) {
+        Stub stub = registered.get(method.toUpperCase(Locale.ROOT) + " " + pathTemplate);
+        return stub == null ? List.of() : stub.requests();
+    }
+
+    public List<RecordedRequest> unmatched() {
+        return List.copyOf(unmatched);
+    }
+
+    /**
+     * Удаляет все заглушки и записанные запросы.
+     */
+    public synchronized void reset() {
+        root.literals.clear();
+        root.param = null;
+        root.stubs.clear();
+        registered.clear();
+        unmatched.clear();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public URI uri(String pathAndQuery) {
+        return URI.create(baseUrl() + pathAndQuery);
+    }
+
+    /**
+     * Запросы страницы, подходящие под glob, уходят в мок-бэкенд с тем же путём и query.
+     */
+    public void route(Page page, String urlGlob) {
+        page.route(urlGlob, this::forward);
+    }
+
+    public void route(BrowserContext context, String urlGlob) {
+        context.route(urlGlob, this::forward);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void forward(Route route) {
+        URI original = URI.create(route.request().url());
+        String target = baseUrl() + original.getRawPath()
+                + (original.getRawQuery() == null ? "" : "?" + original.getRawQuery());
+        APIResponse response = route.fetch(new Route.FetchOptions().setUrl(target).setMaxRedirects(0));
+        route.fulfill(new Route.FulfillOptions().setResponse(response));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            URI uri = exchange.getRequestURI();
+            Map<String, String> headers = new LinkedHashMap<>();
+            exchange.getRequestHeaders().forEach((name, values) ->
+                    headers.put(name.toLowerCase(Locale.ROOT), values.isEmpty() ? "" : values.get(0)));
+            RecordedRequest request = new RecordedRequest(exchange.getRequestMethod(), uri.getPath(),
+                    query(uri), headers, body, System.currentTimeMillis());
+
+            List<String> values = new ArrayList<>();
+            Stub stub = find(request.method(), uri.getPath(), values);
+            if (stub == null) {
+                unmatched.add(request);
+                send(exchange, 404, Map.of("Content-Type", "application/json"),
+                        ("{\"error\":\"no stub for " + request.method() + " " + request.path() + "\"}")
+                                .getBytes(StandardCharsets.UTF_8), 0);
+                return;
+            }
+            stub.respond(exchange, request, values);
+        }
+    }
+
+    // Литеральный сегмент проверяется раньше параметра, при неудаче - откат к параметру
+    private Stub find(String method, String path, List<String> values) {
+        return find(root, segments(path), 0, method, values);
+    }
+
+    private static Stub find(Node node, List<String> segments, int index, String method, List<String> values) {
+        if (index == segments.size()) {
+            return node.stubs.get(method);
+        }
+        String segment = segments.get(index);
+        Node literal = node.literals.get(segment);
+        if (literal != null) {
+            values.add(null);
+            Stub stub = find(literal, segments, index + 1, method, values);
+            if (stub != null) {
+                return stub;
+            }
+            values.remove(values.size() - 1);
+        }
+        Node param = node.param;
+        if (param != null) {
+            values.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            Stub stub = find(param, segments, index + 1, method, values);
+            if (stub != null) {
+                return stub;
+            }
+            values.remove(values.size() - 1);
+        }
+        return null;
+    }
+
+    private static List<String> segments(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (uri.getRawQuery() != null) {
+            for (String pair : uri.getRawQuery().split("&")) {
+                int eq = pair.indexOf('=');
+                String name = eq < 0 ? pair : pair.substring(0, eq);
+                String value = eq < 0 ? "" : pair.substring(eq + 1);
+                params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static void send(HttpExchange exchange, int status, Map<String, String> headers, byte[] body,
+                             long bytesPerSecond) throws IOException {
+        headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length == 0) {
+            return;
+        }
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (bytesPerSecond <= 0) {
+                out.write(body);
+                return;
+            }
+            // Порции по ~50 мс, после каждой ждём момента, когда она «должна» была закончиться
+            int chunk = (int) Math.max(1, Math.min(16 * 1024, bytesPerSecond / 20));
+            long start = System.nanoTime();
+            for (int offset = 0; offset < body.length; offset += chunk) {
+                int length = Math.min(chunk, body.length - offset);
+                out.write(body, offset, length);
+                out.flush();
+                sleepNanos(start + (offset + length) * 1_000_000_000L / bytesPerSecond - System.nanoTime());
+            }
+        }
+    }
+
+    private static void sleepNanos(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new ConcurrentHashMap<>();
+        private final Map<String, Stub> stubs = new ConcurrentHashMap<>();
+        private volatile Node param;
+    }
+
+    /**
+     * Описание ответа заглушки. Настраивается из потока теста, читается потоками сервера.
+     */
+    public static final class Stub {
+        private final String method;
+        private final List<String> paramNames;
+        private final Random random;
+        private final Queue<RecordedRequest> requests = new ConcurrentLinkedQueue<>();
+        private final AtomicLong sequence = new AtomicLong();
+        private final Map<String, String> headers = new ConcurrentHashMap<>();
+        private volatile int status = 200;
+        private volatile Template body = Template.compile("");
+        private volatile Latency latency = Latency.none();
+        private volatile double errorRate;
+        private volatile int errorStatus = 500;
+        private volatile long bytesPerSecond;
+
+        private Stub(String method, List<String> paramNames, Random random) {
+            this.method = method;
+            this.paramNames = paramNames;
+            this.random = random;
+        }
+
+        public Stub status(int status) {
+            this.status = status;
+            return this;
+        }
+
+        public Stub header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+        public Stub body(String template) {
+            this.body = Template.compile(template);
+            return this;
+        }
+
+        public Stub json(String template) {
+            header("Content-Type", "application/json");
+            return body(template);
+        }
+
+        public Stub latency(Latency latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * Доля запросов (0..1), на которые вместо ответа приходит ошибка с заданным статусом.
+         */
+        public Stub errorRate(double rate, int status) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Доля ошибок должна быть от 0 до 1: " + rate);
+            }
+            this.errorRate = rate;
+            this.errorStatus = status;
+            return this;
+        }
+
+        // 0 - без ограничения
+        public Stub bandwidth(long bytesPerSecond) {
+            this.bytesPerSecond = bytesPerSecond;
+            return this;
+        }
+
+        public List<RecordedRequest> requests() {
+            return List.copyOf(requests);
+        }
+
+        public int count() {
+            return requests.size();
+        }
+
+        private void respond(HttpExchange exchange, RecordedRequest request, List<String> values) throws IOException {
+            requests.add(request);
+            long seq = sequence.incrementAndGet();
+            sleepNanos(TimeUnit.MILLISECONDS.toNanos(latency.millis(random)));
+            if (errorRate > 0 && random.nextDouble() < errorRate) {
+                send(exchange, errorStatus, Map.of("Content-Type", "application/json"),
+                        "{\"error\":\"injected fault\"}".getBytes(StandardCharsets.UTF_8), bytesPerSecond);
+                return;
+            }
+            Map<String, String> path = new LinkedHashMap<>();
+            for (int i = 0; i < paramNames.size(); i++) {
+                if (paramNames.get(i) != null) {
+                    path.put(paramNames.get(i), values.get(i));
+                }
+            }
+            String rendered = body.render(new TemplateContext(request, path, seq));
+            send(exchange, status, headers, rendered.getBytes(StandardCharsets.UTF_8), bytesPerSecond);
+        }
+    }
+
+    /**
+     * Распределение задержки ответа в миллисекундах.
+     */
+    @FunctionalInterface
+    public interface Latency {
+
+        long millis(Random random);
+
+        static Latency none() {
+            return random -> 0;
+        }
+
+        static Latency fixed(long millis) {
+            return random -> millis;
+        }
+
+        static Latency uniform(long minMillis, long maxMillis) {
+            return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+        }
+
+        static Latency normal(long meanMillis, long stdDevMillis) {
+            return random -> Math.max(0, Math.round(meanMillis + random.nextGaussian() * stdDevMillis));
+        }
+
+        /**
+         * Логнормальное распределение по медиане и 99-му перцентилю - типичная форма задержек бэкенда.
+         */
+        static Latency percentiles(long p50Millis, long p99Millis) {
+            if (p50Millis <= 0 || p99Millis < p50Millis) {
+                throw new IllegalArgumentException("Нужно 0 < p50 <= p99: " + p50Millis + ", " + p99Millis);
+            }
+            double sigma = Math.log((double) p99Millis / p50Millis) / 2.3263;
+            double mu = Math.log(p50Millis);
+            return random -> Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+        }
+    }
+
+    public record RecordedRequest(String method, String path, Map<String, String> query,
+                                  Map<String, String> headers, String body, long receivedAtMillis) {
+
+        public RecordedRequest {
+            query = Collections.unmodifiableMap(query);
+            headers = Collections.unmodifiableMap(headers);
+        }
+
+        // Имена заголовков хранятся в нижнем регистре
+        public String header(String name) {
+            return headers.get(name.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private record TemplateContext(RecordedRequest request, Map<String, String> path, long seq) {
+    }
+
+    // Шаблон разбирается один раз при настройке заглушки, на запрос - только склейка частей
+    private record Template(List<Function<TemplateContext, String>> parts) {
+        private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([a-z]+)(?:\\.([^}\\s]+))?\\s*}}");
+
+        static Template compile(String source) {
+            List<Function<TemplateContext, String>> parts = new ArrayList<>();
+            Matcher matcher = PLACEHOLDER.matcher(source);
+            int last = 0;
+            while (matcher.find()) {
+                String literal = source.substring(last, matcher.start());
+                parts.add(context -> literal);
+                parts.add(placeholder(matcher.group(1), matcher.group(2), matcher.group()));
+                last = matcher.end();
+            }
+            String tail = source.substring(last);
+            parts.add(context -> tail);
+            return new Template(parts);
+        }
+
+        private static Function<TemplateContext, String> placeholder(String scope, String name, String text) {
+            switch (scope) {
+                case "path":
+                    return context -> context.path().getOrDefault(name, "");
+                case "query":
+                    return context -> context.request().query().getOrDefault(name, "");
+                case "header":
+                    return context -> {
+                        String value = context.request().header(name);
+                        return value == null ? "" : value;
+                    };
+                case "body":
+                    return context -> context.request().body();
+                case "method":
+                    return context -> context.request().method();
+                case "seq":
+                    return context -> String.valueOf(context.seq());
+                default:
+                    throw new IllegalArgumentException("Неизвестная подстановка в шаблоне: " + text);
+            }
+        }
+
+        String render(TemplateContext context) {
+            StringBuilder out = new StringBuilder();
+            for (Function<TemplateContext, String> part : parts) {
+                out.append(part.apply(context));
+            }
+            return out.toString();
+        }
+    }
+}
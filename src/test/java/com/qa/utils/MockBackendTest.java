@@ -0,0 +1,103 @@
+package com.qa.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MockBackendTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private MockBackend backend;
+
+    @BeforeEach
+    void setUp() {
+        backend = MockBackend.start(42);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.close();
+    }
+
+    @Test
+    void testTemplatedResponseAndRecording() throws Exception {
+        backend.post("/api/users/{id}")
+                .status(201)
+                .json("{\"id\":\"{{path.id}}\",\"name\":\"{{query.name}}\",\"token\":\"{{header.X-Token}}\",\"echo\":{{body}},\"n\":{{seq}}}");
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(backend.uri("/api/users/7?name=Ann%20Lee"))
+                .header("X-Token", "abc")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"a\":1}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(201, response.statusCode());
+        assertEquals("application/json", response.headers().firstValue("Content-Type").orElse(""));
+        assertEquals("{\"id\":\"7\",\"name\":\"Ann Lee\",\"token\":\"abc\",\"echo\":{\"a\":1},\"n\":1}", response.body());
+        MockBackend.RecordedRequest recorded = backend.requests("POST", "/api/users/{id}").get(0);
+        assertEquals("/api/users/7", recorded.path());
+        assertEquals("abc", recorded.header("x-token"));
+        assertEquals("{\"a\":1}", recorded.body());
+    }
+
+    @Test
+    void testLiteralSegmentWinsAndManyStubsResolve() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            backend.get("/api/items/" + i).body("item " + i);
+        }
+        backend.get("/api/items/{id}/reviews").body("reviews of {{path.id}}");
+        backend.get("/api/items/{id}").body("generic {{path.id}}");
+
+        assertEquals("item 250", get("/api/items/250").body());
+        assertEquals("generic 777", get("/api/items/777").body());
+        // Литерал 250 не знает /reviews, поиск откатывается к параметру
+        assertEquals("reviews of 250", get("/api/items/250/reviews").body());
+
+        HttpResponse<String> missing = get("/api/unknown");
+        assertEquals(404, missing.statusCode());
+        assertEquals("/api/unknown", backend.unmatched().get(0).path());
+    }
+
+    @Test
+    void testLatencyErrorsAndBandwidth() throws Exception {
+        backend.get("/slow").latency(MockBackend.Latency.fixed(300)).body("ok");
+        backend.get("/broken").errorRate(1.0, 503).body("never");
+        backend.get("/big").bandwidth(40 * 1024).body("x".repeat(20 * 1024));
+
+        long start = System.nanoTime();
+        assertEquals("ok", get("/slow").body());
+        assertTrue((System.nanoTime() - start) / 1_000_000 >= 300, "Задержка не применена");
+
+        assertEquals(503, get("/broken").statusCode());
+
+        start = System.nanoTime();
+        assertEquals(20 * 1024, get("/big").body().length());
+        // 20 КБ при 40 КБ/с - не меньше полсекунды, с запасом на порции
+        assertTrue((System.nanoTime() - start) / 1_000_000 >= 400, "Полоса не ограничена");
+    }
+
+    @Test
+    void testPercentileLatencyMedian() {
+        MockBackend.Latency latency = MockBackend.Latency.percentiles(100, 1000);
+        Random random = new Random(1);
+        long[] samples = new long[10_001];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = latency.millis(random);
+        }
+        Arrays.sort(samples);
+        assertEquals(100, samples[5_000], 10);
+        assertEquals(1000, samples[9_900], 150);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(backend.baseUrl() + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
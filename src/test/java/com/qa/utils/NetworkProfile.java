@@ -0,0 +1,80 @@
+package com.qa.utils;
+
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.CDPSession;
+import com.microsoft.playwright.Page;
+
+/**
+ * Условия сети и CPU для эмуляции. Скорости в кбит/с, {@code 0} - без ограничения,
+ * {@code cpuSlowdown} - во сколько раз замедлить CPU (1 - не замедлять).
+ * <p>
+ * В Chromium применяется через CDP ({@code Network.emulateNetworkConditions},
+ * {@code Emulation.setCPUThrottlingRate}) на каждую страницу контекста, включая открытые позже.
+ * В Firefox и WebKit CDP нет: каждый запрос задерживается на {@code latencyMs} через {@code route},
+ * полоса и CPU не ограничиваются.
+ * <p>
+ * Ограничение: обработчик маршрута выполняется в потоке теста, который раздаёт все события
+ * Playwright, и пока он спит, следующие запросы ждут. Отложить {@code route.resume()} в другой поток
+ * нельзя - Playwright для Java не потокобезопасен. Поэтому задержки складываются: страница из N
+ * параллельных запросов грузится примерно за N x {@code latencyMs}, а не за {@code latencyMs}.
+ * Времена под профилем с задержкой в Firefox и WebKit завышены и не сравнимы с Chromium;
+ * годятся для проверки, что тест переживает медленную сеть, но не для замеров.
+ */
+public record NetworkProfile(String name, int downloadKbps, int uploadKbps, int latencyMs, double cpuSlowdown) {
+
+    public boolean isUnthrottled() {
+        return downloadKbps <= 0 && uploadKbps <= 0 && latencyMs <= 0 && cpuSlowdown <= 1;
+    }
+
+    /**
+     * Таймаут ожидания с поправкой на профиль: базовый умножается на замедление CPU,
+     * плюс несколько сетевых задержек на запросы, которые успевает сделать страница.
+     */
+    public double scaleTimeout(double baseMs) {
+        return baseMs * Math.max(1, cpuSlowdown) + Math.max(0, latencyMs) * 4.0;
+    }
+
+    public void apply(BrowserContext context) {
+        if (isUnthrottled()) {
+            return;
+        }
+        Browser browser = context.browser();
+        if (browser == null || "chromium".equals(browser.browserType().name())) {
+            context.pages().forEach(page -> emulate(context, page));
+            context.onPage(page -> emulate(context, page));
+        } else if (latencyMs > 0) {
+            context.route("**/*", route -> {
+                try {
+                    Thread.sleep(latencyMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                route.resume();
+            });
+        }
+    }
+
+    private void emulate(BrowserContext context, Page page) {
+        CDPSession cdp = context.newCDPSession(page);
+        cdp.send("Network.enable");
+        JsonObject conditions = new JsonObject();
+        conditions.addProperty("offline", false);
+        conditions.addProperty("latency", latencyMs);
+        // CDP ждёт байты в секунду, -1 - без ограничения
+        conditions.addProperty("downloadThroughput", downloadKbps > 0 ? downloadKbps * 1000 / 8 : -1);
+        conditions.addProperty("uploadThroughput", uploadKbps > 0 ? uploadKbps * 1000 / 8 : -1);
+        cdp.send("Network.emulateNetworkConditions", conditions);
+        if (cpuSlowdown > 1) {
+            JsonObject rate = new JsonObject();
+            rate.addProperty("rate", cpuSlowdown);
+            cdp.send("Emulation.setCPUThrottlingRate", rate);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
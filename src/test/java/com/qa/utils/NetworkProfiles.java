@@ -0,0 +1,110 @@
+package com.qa.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Реестр сетевых профилей: встроенные плюс пользовательские из {@code network-profiles.properties}
+ * (classpath или путь из {@code -Dnetwork.profiles.file}). Формат пользовательского профиля:
+ * <pre>
+ * office-vpn.download=20000
+ * office-vpn.upload=5000
+ * office-vpn.latency=120
+ * office-vpn.cpu=1
+ * </pre>
+ * Профиль для прогона по умолчанию задаётся {@code -Dnetwork.profile=3g}. Полностью профиль
+ * эмулируется только в Chromium; в Firefox и WebKit остаётся лишь задержка, и она накапливается
+ * по запросам страницы (см. {@link NetworkProfile}), поэтому замеры времени с профилем - только в Chromium.
+ */
+public final class NetworkProfiles {
+    public static final String NONE = "none";
+
+    private static final String PROFILES_FILE = "network-profiles.properties";
+
+    private NetworkProfiles() {
+    }
+
+    public static NetworkProfile get(String name) {
+        NetworkProfile profile = Holder.PROFILES.get(name);
+        if (profile == null) {
+            throw new IllegalArgumentException("Неизвестный сетевой профиль: " + name
+                    + ", доступны: " + Holder.PROFILES.keySet());
+        }
+        return profile;
+    }
+
+    // Профиль прогона из -Dnetwork.profile
+    public static NetworkProfile current() {
+        return get(System.getProperty("network.profile", NONE));
+    }
+
+    public static Collection<NetworkProfile> all() {
+        return Holder.PROFILES.values();
+    }
+
+    private static final class Holder {
+        private static final Map<String, NetworkProfile> PROFILES = load();
+
+        private static Map<String, NetworkProfile> load() {
+            Map<String, NetworkProfile> profiles = new LinkedHashMap<>();
+            // Значения как у пресетов DevTools и Lighthouse
+            add(profiles, new NetworkProfile(NONE, 0, 0, 0, 1));
+            add(profiles, new NetworkProfile("3g", 1440, 675, 563, 4));
+            add(profiles, new NetworkProfile("slow-4g", 1600, 750, 150, 4));
+            add(profiles, new NetworkProfile("wan-high-latency", 10000, 5000, 300, 1));
+
+            Properties props = readUserFile();
+            Set<String> names = new TreeSet<>();
+            for (String key : props.stringPropertyNames()) {
+                int dot = key.lastIndexOf('.');
+                if (dot > 0) {
+                    names.add(key.substring(0, dot));
+                }
+            }
+            for (String name : names) {
+                add(profiles, new NetworkProfile(name,
+                        Integer.parseInt(props.getProperty(name + ".download", "0").trim()),
+                        Integer.parseInt(props.getProperty(name + ".upload", "0").trim()),
+                        Integer.parseInt(props.getProperty(name + ".latency", "0").trim()),
+                        Double.parseDouble(props.getProperty(name + ".cpu", "1").trim())));
+            }
+            return Collections.unmodifiableMap(profiles);
+        }
+
+        private static void add(Map<String, NetworkProfile> profiles, NetworkProfile profile) {
+            profiles.put(profile.name(), profile);
+        }
+
+        private static Properties readUserFile() {
+            Properties props = new Properties();
+            String file = System.getProperty("network.profiles.file");
+            try {
+                if (file != null) {
+                    try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+                        props.load(reader);
+                    }
+                } else {
+                    try (InputStream input = NetworkProfiles.class.getClassLoader().getResourceAsStream(PROFILES_FILE)) {
+                        if (input != null) {
+                            props.load(input);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Не удалось прочитать сетевые профили", e);
+            }
+            return props;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.qa.pages.Locate;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Заполняет поля с {@link Locate} локаторами {@code page.locator(...)}. Локатор Playwright и так
+ * ленивый - DOM запрашивается только при действии с ним, поэтому поле получает настоящий
+ * {@link Locator}, а не обёртку: его можно передавать в {@code dragTo}, {@code and}/{@code or},
+ * {@code filter} и {@code PlaywrightAssertions}, которые ждут реализацию Playwright.
+ * Список аннотированных полей вычисляется один раз на класс.
+ */
+public final class PageElements {
+    private static final ClassValue<List<Field>> LOCATOR_FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(Locate.class)) {
+                        if (field.getType() != Locator.class) {
+                            throw new IllegalStateException("@Locate допустим только на полях Locator: " + field);
+                        }
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        }
+    };
+
+    private PageElements() {
+    }
+
+    public static void init(Object target, Page page) {
+        for (Field field : LOCATOR_FIELDS.get(target.getClass())) {
+            try {
+                field.set(target, page.locator(field.getAnnotation(Locate.class).value()));
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Не удалось проинициализировать " + field, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.qa.components.DragDropArea;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.*;
+
+public class PageElementsTest {
+
+    @Test
+    void testInjectedFieldIsPassedToDragToAsIs() {
+        Page page = mock(Page.class);
+        Locator columnA = mock(Locator.class);
+        Locator columnB = mock(Locator.class);
+        when(page.locator("#column-a")).thenReturn(columnA);
+        when(page.locator("#column-b")).thenReturn(columnB);
+
+        new DragDropArea(page).dragAToB();
+
+        // Playwright приводит аргумент dragTo к своей реализации, обёртка здесь дала бы ClassCastException
+        verify(columnA).dragTo(same(columnB));
+    }
+}
@@ -0,0 +1,191 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.Dialog;
+import com.microsoft.playwright.Download;
+import com.microsoft.playwright.FileChooser;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Диалоги, всплывающие окна, загрузки и выбор файлов страницы как типизированные события в очереди.
+ * <p>
+ * {@code expect*} запоминает позицию в очереди, выполняет действие и ждёт события через
+ * {@link Page#waitForCondition}: события Playwright приходят в потоке теста, пока он ждёт, поэтому
+ * ни дополнительных потоков, ни {@code CompletableFuture} не нужно. Диалог должен быть закрыт
+ * прямо в обработчике, иначе страница зависнет: ожидаемый получает ответ из {@code expectDialog},
+ * неожиданный закрывается через dismiss, как у Playwright без обработчиков, и остаётся в очереди.
+ * <p>
+ * Таймаут по умолчанию - {@code page.events.timeout.ms} (5000 мс), пересчитанный для сетевого
+ * профиля прогона ({@link NetworkProfile#scaleTimeout}). {@link #close()} снимает обработчики;
+ * экземпляр, внедрённый {@code PlaywrightExtension}, закрывается вместе со страницей теста.
+ */
+public final class PageEvents implements AutoCloseable {
+
+    public sealed interface Event permits DialogEvent, PopupEvent, DownloadEvent, FileChooserEvent {
+    }
+
+    public record DialogEvent(String type, String message, String defaultValue, boolean accepted) implements Event {
+    }
+
+    public record PopupEvent(Page popup) implements Event {
+    }
+
+    public record DownloadEvent(Download download) implements Event {
+    }
+
+    public record FileChooserEvent(FileChooser chooser) implements Event {
+    }
+
+    /**
+     * Ответ на диалог: accept (для prompt - с текстом) или dismiss.
+     */
+    public record DialogResponse(boolean accepted, String promptText) {
+
+        public static DialogResponse accept() {
+            return new DialogResponse(true, null);
+        }
+
+        public static DialogResponse accept(String promptText) {
+            return new DialogResponse(true, promptText);
+        }
+
+        public static DialogResponse dismiss() {
+            return new DialogResponse(false, null);
+        }
+    }
+
+    private record Queued(long seq, Event event) {
+    }
+
+    private final Page page;
+    private final double timeoutMs;
+    private final List<Queued> queue = new ArrayList<>();
+    private final Consumer<Dialog> onDialog = this::dialog;
+    private final Consumer<Page> onPopup = popup -> add(new PopupEvent(popup));
+    private final Consumer<Download> onDownload = download -> add(new DownloadEvent(download));
+    private final Consumer<FileChooser> onFileChooser = chooser -> add(new FileChooserEvent(chooser));
+    private DialogResponse response;
+    private long received;
+
+    private PageEvents(Page page, double timeoutMs) {
+        this.page = page;
+        this.timeoutMs = timeoutMs;
+        page.onDialog(onDialog);
+        page.onPopup(onPopup);
+        page.onDownload(onDownload);
+        page.onFileChooser(onFileChooser);
+    }
+
+    public static PageEvents attach(Page page) {
+        return attach(page, NetworkProfiles.current());
+    }
+
+    public static PageEvents attach(Page page, NetworkProfile profile) {
+        double base = Double.parseDouble(System.getProperty("page.events.timeout.ms", "5000"));
+        return new PageEvents(page, profile.scaleTimeout(base));
+    }
+
+    public Page page() {
+        return page;
+    }
+
+    public double timeoutMs() {
+        return timeoutMs;
+    }
+
+    public DialogEvent expectDialog(Runnable action) {
+        return expectDialog(DialogResponse.accept(), action);
+    }
+
+    public DialogEvent expectDialog(DialogResponse dialogResponse, Runnable action) {
+        DialogResponse previous = response;
+        response = dialogResponse;
+        try {
+            return expect(DialogEvent.class, "dialog", action);
+        } finally {
+            response = previous;
+        }
+    }
+
+    public Page expectPopup(Runnable action) {
+        return expect(PopupEvent.class, "popup", action).popup();
+    }
+
+    public Download expectDownload(Runnable action) {
+        return expect(DownloadEvent.class, "download", action).download();
+    }
+
+    public FileChooser expectFileChooser(Runnable action) {
+        return expect(FileChooserEvent.class, "filechooser", action).chooser();
+    }
+
+    /**
+     * События, которые не забрал ни один {@code expect*}, например неожиданные диалоги.
+     */
+    public <T extends Event> List<T> unclaimed(Class<T> type) {
+        List<T> events = new ArrayList<>();
+        for (Queued queued : queue) {
+            if (type.isInstance(queued.event())) {
+                events.add(type.cast(queued.event()));
+            }
+        }
+        return events;
+    }
+
+    @Override
+    public void close() {
+        page.offDialog(onDialog);
+        page.offPopup(onPopup);
+        page.offDownload(onDownload);
+        page.offFileChooser(onFileChooser);
+        queue.clear();
+    }
+
+    private <T extends Event> T expect(Class<T> type, String name, Runnable action) {
+        long after = received;
+        action.run();
+        try {
+            page.waitForCondition(() -> find(type, after, false) != null,
+                    new Page.WaitForConditionOptions().setTimeout(timeoutMs));
+        } catch (TimeoutError e) {
+            throw new TimeoutError("Событие '" + name + "' не произошло за " + (long) timeoutMs + " мс", e);
+        }
+        return find(type, after, true);
+    }
+
+    // Первое событие типа, пришедшее после действия
+    private <T extends Event> T find(Class<T> type, long after, boolean remove) {
+        Iterator<Queued> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Queued queued = iterator.next();
+            if (queued.seq() >= after && type.isInstance(queued.event())) {
+                if (remove) {
+                    iterator.remove();
+                }
+                return type.cast(queued.event());
+            }
+        }
+        return null;
+    }
+
+    private void dialog(Dialog dialog) {
+        DialogResponse answer = response == null ? DialogResponse.dismiss() : response;
+        add(new DialogEvent(dialog.type(), dialog.message(), dialog.defaultValue(), answer.accepted()));
+        if (!answer.accepted()) {
+            dialog.dismiss();
+        } else if (answer.promptText() == null) {
+            dialog.accept();
+        } else {
+            dialog.accept(answer.promptText());
+        }
+    }
+
+    private void add(Event event) {
+        queue.add(new Queued(received++, event));
+    }
+}
@@ -0,0 +1,79 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.Dialog;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class PageEventsTest {
+    private Page page;
+    private Consumer<Dialog> dialogHandler;
+    private PageEvents events;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        page = mock(Page.class);
+        // Как у Playwright: условие проверяется, пока события доставляются в этот же поток
+        doAnswer(invocation -> {
+            if (!invocation.<BooleanSupplier>getArgument(0).getAsBoolean()) {
+                throw new TimeoutError("timeout");
+            }
+            return null;
+        }).when(page).waitForCondition(any(), any());
+        events = PageEvents.attach(page, new NetworkProfile("test", 0, 0, 100, 2));
+        ArgumentCaptor<Consumer<Dialog>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(page).onDialog(captor.capture());
+        dialogHandler = captor.getValue();
+    }
+
+    @Test
+    void testExpectedDialogIsAnsweredAndUnexpectedIsDismissed() {
+        Dialog unexpected = dialog("confirm", "Уйти со страницы?");
+        dialogHandler.accept(unexpected);
+        verify(unexpected).dismiss();
+
+        Dialog prompt = dialog("prompt", "Имя?");
+        PageEvents.DialogEvent event = events.expectDialog(PageEvents.DialogResponse.accept("Иван"),
+                () -> dialogHandler.accept(prompt));
+
+        verify(prompt).accept("Иван");
+        assertEquals("Имя?", event.message());
+        assertTrue(event.accepted());
+        assertEquals(1, events.unclaimed(PageEvents.DialogEvent.class).size());
+        assertFalse(events.unclaimed(PageEvents.DialogEvent.class).get(0).accepted());
+    }
+
+    @Test
+    void testMissingDialogTimesOutWithProfileTimeoutAndCloseRemovesHandlers() {
+        // 5000 мс x замедление CPU 2 + 4 задержки по 100 мс
+        assertEquals(10_400, events.timeoutMs());
+        TimeoutError error = assertThrows(TimeoutError.class, () -> events.expectDialog(() -> {
+        }));
+        assertTrue(error.getMessage().contains("10400"), error.getMessage());
+        assertInstanceOf(TimeoutError.class, error.getCause());
+
+        events.close();
+        verify(page).offDialog(dialogHandler);
+        verify(page).offPopup(any());
+        verify(page).offDownload(any());
+        verify(page).offFileChooser(any());
+    }
+
+    private static Dialog dialog(String type, String message) {
+        Dialog dialog = mock(Dialog.class);
+        when(dialog.type()).thenReturn(type);
+        when(dialog.message()).thenReturn(message);
+        when(dialog.defaultValue()).thenReturn("");
+        return dialog;
+    }
+}
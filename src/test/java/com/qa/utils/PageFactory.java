@@ -1,16 +1,52 @@
 package com.qa.utils;
 
 import com.microsoft.playwright.Page;
+import com.qa.pages.BasePage;
 import com.qa.pages.DragDropPage;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class PageFactory {
+    // Конструкторы ищутся рефлексией один раз на класс страницы
+    private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor(Page.class);
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(type.getSimpleName() + " должен иметь конструктор (Page)", e);
+            }
+        }
+    };
+
     private final Page page;
+    private final Map<Class<?>, BasePage> pages = new ConcurrentHashMap<>();
 
     public PageFactory(Page page){
         this.page = page;
     }
 
+    // Один экземпляр каждой страницы на Page
+    public <T extends BasePage> T get(Class<T> type){
+        return type.cast(pages.computeIfAbsent(type, this::create));
+    }
+
     public DragDropPage createDragDropPage(){
-        return new DragDropPage(page);
+        return get(DragDropPage.class);
+    }
+
+    private BasePage create(Class<?> type){
+        try {
+            return (BasePage) CONSTRUCTORS.get(type).newInstance(page);
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new RuntimeException("Не удалось создать " + type.getSimpleName(), e);
+        } catch (InvocationTargetException e) {
+            throw new RuntimeException("Не удалось создать " + type.getSimpleName(), e.getCause());
+        }
     }
 }
@@ -0,0 +1,58 @@
+package com.qa.utils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.CDPSession;
+import com.microsoft.playwright.Page;
+
+/**
+ * Метрики страницы из CDP {@code Performance.getMetrics}: JS-куча, DOM-узлы, обработчики событий.
+ * Доступны только в Chromium, для других движков {@link #of(Page)} возвращает {@code null}.
+ */
+public record PageMetrics(long jsHeapUsedBytes, long jsHeapTotalBytes, long nodes, long listeners) {
+
+    public static PageMetrics of(Page page) {
+        if (page.isClosed() || !"chromium".equals(page.context().browser().browserType().name())) {
+            return null;
+        }
+        CDPSession session = page.context().newCDPSession(page);
+        try {
+            session.send("Performance.enable");
+            JsonObject result = session.send("Performance.getMetrics");
+            long used = 0;
+            long total = 0;
+            long nodes = 0;
+            long listeners = 0;
+            for (JsonElement element : result.getAsJsonArray("metrics")) {
+                JsonObject metric = element.getAsJsonObject();
+                long value = metric.get("value").getAsLong();
+                switch (metric.get("name").getAsString()) {
+                    case "JSHeapUsedSize":
+                        used = value;
+                        break;
+                    case "JSHeapTotalSize":
+                        total = value;
+                        break;
+                    case "Nodes":
+                        nodes = value;
+                        break;
+                    case "JSEventListeners":
+                        listeners = value;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return new PageMetrics(used, total, nodes, listeners);
+        } catch (RuntimeException e) {
+            // Страница могла закрыться или перейти на другой документ во время запроса
+            return null;
+        } finally {
+            try {
+                session.detach();
+            } catch (RuntimeException e) {
+                // Игнор исключения
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.qa.utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Status;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * История времён шагов тестов по коммитам и поиск регрессий производительности.
+ * <p>
+ * Каждое измерение дописывается строкой в TSV ({@code commit, время, тест, шаг, мс}), файл задаётся
+ * {@code -Dperf.history.file} (по умолчанию {@code perf-history.tsv} в корне проекта, в CI кэшируется).
+ * Выборка текущего коммита сравнивается с выборкой последних {@code perf.baseline.commits} коммитов
+ * U-критерием Манна-Уитни. Регрессия - это p-value меньше {@code perf.alpha} при росте медианы
+ * не меньше чем в {@code perf.min.slowdown} раз. Она помечается в Allure тегом {@code perf-regression}
+ * вместе с размером эффекта. С {@code -Dperf.fail.on.regression=true} тест падает.
+ * <p>
+ * На малых выборках критерий бессилен: наименьшее p-value, которое он может дать
+ * ({@link MannWhitney#minPValue}), при одном измерении за прогон около 0.077 для базы из 10 измерений
+ * и не опускается ниже 0.042 при любой базе, так что при {@code perf.alpha=0.01} регрессия
+ * не нашлась бы никогда. Поэтому тест снимает несколько измерений шага за прогон ({@code perf.repeat}
+ * в {@code LoginPerformanceTests}). Правило: если наименьшее достижимое p-value не меньше
+ * {@code perf.alpha}, регрессией считается рост медианы не меньше чем в {@code perf.small.sample.slowdown}
+ * раз (по умолчанию 1.5), и в вердикте это отмечено.
+ */
+public final class PerfHistory {
+    private static final int MAX_SAMPLES_PER_STEP = 1000;
+
+    private static volatile PerfHistory instance;
+
+    private final Path file;
+    private final String commit;
+    private final Map<String, List<Sample>> samples = new LinkedHashMap<>();
+    private int baselineCommits = Integer.getInteger("perf.baseline.commits", 10);
+    private int minBaseline = Integer.getInteger("perf.min.baseline", 5);
+    private double alpha = Double.parseDouble(System.getProperty("perf.alpha", "0.01"));
+    private double minSlowdown = Double.parseDouble(System.getProperty("perf.min.slowdown", "1.2"));
+    private double smallSampleSlowdown = Double.parseDouble(System.getProperty("perf.small.sample.slowdown", "1.5"));
+
+    public PerfHistory(Path file, String commit) {
+        this.file = file;
+        this.commit = commit;
+        load();
+    }
+
+    public static PerfHistory get() {
+        if (instance == null) {
+            synchronized (PerfHistory.class) {
+                if (instance == null) {
+                    instance = new PerfHistory(Paths.get(System.getProperty("perf.history.file", "perf-history.tsv")),
+                            currentCommit());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Записывает измерение, сравнивает с базой и отмечает результат в Allure.
+     */
+    public Verdict measure(String test, String step, long millis) {
+        record(test, step, millis);
+        return report(test, step);
+    }
+
+    /**
+     * Сравнивает уже записанные измерения шага с базой и отмечает результат в Allure;
+     * для тестов, которые снимают несколько измерений за прогон через {@link #record}.
+     */
+    public Verdict report(String test, String step) {
+        Verdict verdict = check(test, step);
+        Allure.addAttachment("Производительность: " + step, "text/plain", verdict.toString(), ".txt");
+        if (verdict.regression()) {
+            Allure.label("tag", "perf-regression");
+            Allure.step("Регрессия производительности: " + verdict.summary(), Status.BROKEN);
+            if (Boolean.getBoolean("perf.fail.on.regression")) {
+                throw new AssertionError("Регрессия производительности: " + verdict.summary());
+            }
+        }
+        return verdict;
+    }
+
+    public synchronized void record(String test, String step, long millis) {
+        Sample sample = new Sample(commit, System.currentTimeMillis(), test, step, millis);
+        samples.computeIfAbsent(key(test, step), k -> new ArrayList<>()).add(sample);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.writeString(file, sample.line() + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Не удалось записать историю производительности: " + e.getMessage());
+        }
+    }
+
+    public synchronized Verdict check(String test, String step) {
+        List<Sample> history = samples.getOrDefault(key(test, step), List.of());
+        // Последние коммиты, кроме текущего, от новых к старым
+        List<String> commits = new ArrayList<>();
+        for (int i = history.size() - 1; i >= 0 && commits.size() < baselineCommits; i--) {
+            String c = history.get(i).commit();
+            if (!c.equals(commit) && !commits.contains(c)) {
+                commits.add(c);
+            }
+        }
+        double[] current = history.stream().filter(s -> s.commit().equals(commit))
+                .mapToDouble(Sample::millis).toArray();
+        double[] baseline = history.stream().filter(s -> commits.contains(s.commit()))
+                .mapToDouble(Sample::millis).toArray();
+        if (current.length == 0 || baseline.length < minBaseline) {
+            return new Verdict(test, step, median(current), median(baseline), current.length, baseline.length,
+                    null, false, false);
+        }
+        MannWhitney.Result result = MannWhitney.greater(current, baseline);
+        double slowdown = median(current) / Math.max(1e-9, median(baseline));
+        // Критерий не может дать p < alpha на таких выборках - остаётся только порог замедления
+        boolean slowdownOnly = MannWhitney.minPValue(current.length, baseline.length) >= alpha;
+        boolean regression = slowdownOnly
+                ? slowdown >= Math.max(minSlowdown, smallSampleSlowdown)
+                : result.pValue() < alpha && slowdown >= minSlowdown;
+        return new Verdict(test, step, median(current), median(baseline), current.length, baseline.length,
+                result, slowdownOnly, regression);
+    }
+
+    PerfHistory thresholds(int baselineCommits, int minBaseline, double alpha, double minSlowdown) {
+        this.baselineCommits = baselineCommits;
+        this.minBaseline = minBaseline;
+        this.alpha = alpha;
+        this.minSlowdown = minSlowdown;
+        return this;
+    }
+
+    PerfHistory smallSampleSlowdown(double smallSampleSlowdown) {
+        this.smallSampleSlowdown = smallSampleSlowdown;
+        return this;
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        boolean trimmed = false;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Sample sample = Sample.parse(line);
+                if (sample == null) {
+                    continue;
+                }
+                List<Sample> list = samples.computeIfAbsent(key(sample.test(), sample.step()), k -> new ArrayList<>());
+                list.add(sample);
+                if (list.size() > MAX_SAMPLES_PER_STEP) {
+                    list.remove(0);
+                    trimmed = true;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Не удалось прочитать историю производительности: " + e.getMessage());
+            return;
+        }
+        if (trimmed) {
+            compact();
+        }
+    }
+
+    // Перезаписывает файл без вытесненных старых измерений
+    private void compact() {
+        try {
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            List<String> lines = new ArrayList<>();
+            samples.values().forEach(list -> list.forEach(s -> lines.add(s.line())));
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Не удалось сжать историю производительности: " + e.getMessage());
+        }
+    }
+
+    static String currentCommit() {
+        String sha = System.getenv("GITHUB_SHA");
+        if (sha != null && !sha.isEmpty()) {
+            return sha.substring(0, Math.min(12, sha.length()));
+        }
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short=12", "HEAD")
+                    .redirectErrorStream(true).start();
+            String out;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                out = reader.readLine();
+            }
+            if (process.waitFor(5, TimeUnit.SECONDS) && process.exitValue() == 0 && out != null) {
+                return out.trim();
+            }
+        } catch (IOException e) {
+            // git недоступен
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "unknown";
+    }
+
+    private static String key(String test, String step) {
+        return test + '\t' + step;
+    }
+
+    private static double median(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    private record Sample(String commit, long timestamp, String test, String step, long millis) {
+
+        String line() {
+            return commit + '\t' + timestamp + '\t' + clean(test) + '\t' + clean(step) + '\t' + millis;
+        }
+
+        static Sample parse(String line) {
+            String[] parts = line.split("\t");
+            if (parts.length != 5) {
+                return null;
+            }
+            try {
+                return new Sample(parts[0], Long.parseLong(parts[1]), parts[2], parts[3], Long.parseLong(parts[4]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static String clean(String value) {
+            return value.replace('\t', ' ').replace('\n', ' ');
+        }
+    }
+
+    public record Verdict(String test, String step, double currentMedian, double baselineMedian,
+                          int currentSamples, int baselineSamples, MannWhitney.Result result,
+                          boolean slowdownOnly, boolean regression) {
+
+        public String summary() {
+            if (result == null) {
+                return String.format("%s: медиана %.0f мс, мало данных для сравнения (база %d изм.)",
+                        step, currentMedian, baselineSamples);
+            }
+            return String.format("%s: медиана %.0f мс против %.0f мс (x%.2f), p=%.4f, дельта Клиффа %.2f (%s)",
+                    step, currentMedian, baselineMedian, currentMedian / baselineMedian,
+                    result.pValue(), result.cliffsDelta(), result.magnitude())
+                    + (slowdownOnly ? ", выборки малы для критерия - только порог замедления" : "");
+        }
+
+        @Override
+        public String toString() {
+            return summary() + String.format("%nТекущий коммит: %d изм., база: %d изм.%nРегрессия: %s%n",
+                    currentSamples, baselineSamples, regression ? "да" : "нет");
+        }
+    }
+}
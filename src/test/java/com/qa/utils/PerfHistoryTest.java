@@ -0,0 +1,100 @@
+package com.qa.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerfHistoryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSlowdownIsFlagged() {
+        Path file = dir.resolve("history.tsv");
+        fillBaseline(file, 400);
+
+        PerfHistory current = new PerfHistory(file, "new").thresholds(10, 5, 0.01, 1.2);
+        for (int i = 0; i < 5; i++) {
+            current.record("Login", "total", 2500 + i * 10);
+        }
+
+        PerfHistory.Verdict verdict = current.check("Login", "total");
+        assertTrue(verdict.regression(), verdict.toString());
+        assertFalse(verdict.slowdownOnly());
+        assertTrue(verdict.result().cliffsDelta() > 0.9);
+    }
+
+    @Test
+    void testSameDistributionIsNotFlagged() {
+        Path file = dir.resolve("history.tsv");
+        fillBaseline(file, 400);
+
+        PerfHistory current = new PerfHistory(file, "new").thresholds(10, 5, 0.01, 1.2);
+        Random random = new Random(7);
+        for (int i = 0; i < 5; i++) {
+            current.record("Login", "total", 380 + random.nextInt(40));
+        }
+
+        assertFalse(current.check("Login", "total").regression());
+    }
+
+    @Test
+    void testSingleSamplePerRunFallsBackToSlowdownThreshold() {
+        // Форма реального прогона без повторов: одно измерение шага на коммит
+        Path file = dir.resolve("history.tsv");
+        for (int c = 0; c < 10; c++) {
+            new PerfHistory(file, "old" + c).record("Login", "total", 390 + c * 2);
+        }
+        assertTrue(MannWhitney.minPValue(1, 10) >= 0.01);
+
+        PerfHistory slow = new PerfHistory(file, "slow").thresholds(10, 5, 0.01, 1.2).smallSampleSlowdown(1.5);
+        slow.record("Login", "total", 2500);
+        PerfHistory.Verdict verdict = slow.check("Login", "total");
+        assertTrue(verdict.slowdownOnly(), verdict.toString());
+        assertTrue(verdict.regression(), verdict.toString());
+
+        PerfHistory same = new PerfHistory(file, "same").thresholds(10, 5, 0.01, 1.2).smallSampleSlowdown(1.5);
+        same.record("Login", "total", 450);
+        assertFalse(same.check("Login", "total").regression());
+    }
+
+    @Test
+    void testRepeatedSamplesUseRankTest() {
+        assertTrue(MannWhitney.minPValue(5, 5) < 0.01);
+        // Значения из описания PerfHistory: одно измерение против базы из 10 и против очень большой базы
+        assertEquals(0.077, MannWhitney.minPValue(1, 10), 0.001);
+        assertEquals(0.042, MannWhitney.minPValue(1, 1000), 0.001);
+    }
+
+    @Test
+    void testNotEnoughBaselineIsNotARegression() {
+        PerfHistory history = new PerfHistory(dir.resolve("history.tsv"), "new").thresholds(10, 5, 0.01, 1.2);
+        history.record("Login", "total", 9000);
+
+        PerfHistory.Verdict verdict = history.check("Login", "total");
+        assertNull(verdict.result());
+        assertFalse(verdict.regression());
+    }
+
+    @Test
+    void testNormalCdf() {
+        assertEquals(0.5, MannWhitney.normalCdf(0), 1e-7);
+        assertEquals(0.975, MannWhitney.normalCdf(1.959964), 1e-6);
+    }
+
+    // 4 прошлых коммита по 5 измерений около center, история читается из файла
+    private static void fillBaseline(Path file, int center) {
+        Random random = new Random(42);
+        for (int c = 0; c < 4; c++) {
+            PerfHistory old = new PerfHistory(file, "old" + c);
+            for (int i = 0; i < 5; i++) {
+                old.record("Login", "total", center - 20 + random.nextInt(40));
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.qa.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Память и CPU процессов браузеров: всех потомков текущей JVM (драйвер Playwright и браузеры под ним).
+ * <p>
+ * Память берётся из {@code /proc/<pid>/smaps_rollup} как PSS: у Chromium десятки процессов с общими
+ * страницами, и сумма RSS считает общие страницы многократно. Без smaps_rollup - VmRSS из
+ * {@code /proc/<pid>/status}, не на Linux - {@code -1}. CPU - суммарное время процессов из {@link ProcessHandle}.
+ */
+public final class ProcessStats {
+    private static final Path PROC = Paths.get("/proc");
+
+    private ProcessStats() {
+    }
+
+    public static Sample sample() {
+        List<ProcessHandle> processes = ProcessHandle.current().descendants().collect(Collectors.toList());
+        long memory = Files.isDirectory(PROC) ? 0 : -1;
+        long cpuMillis = 0;
+        for (ProcessHandle process : processes) {
+            if (memory >= 0) {
+                memory += memoryKb(process.pid()) * 1024;
+            }
+            cpuMillis += process.info().totalCpuDuration().map(Duration::toMillis).orElse(0L);
+        }
+        return new Sample(memory, cpuMillis, processes.size());
+    }
+
+    // Процесс мог завершиться между перечислением и чтением, тогда он просто не учитывается
+    private static long memoryKb(long pid) {
+        Path dir = PROC.resolve(Long.toString(pid));
+        try {
+            Path rollup = dir.resolve("smaps_rollup");
+            if (Files.isReadable(rollup)) {
+                long pss = field(Files.readString(rollup, StandardCharsets.US_ASCII), "Pss:");
+                if (pss >= 0) {
+                    return pss;
+                }
+            }
+            return Math.max(0, field(Files.readString(dir.resolve("status"), StandardCharsets.US_ASCII), "VmRSS:"));
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Значение в кБ из строки вида {@code "Pss:     123456 kB"}, {@code -1} если строки нет.
+     */
+    static long field(String content, String name) {
+        for (String line : content.split("\n")) {
+            if (line.startsWith(name)) {
+                String value = line.substring(name.length()).trim();
+                int space = value.indexOf(' ');
+                try {
+                    return Long.parseLong(space < 0 ? value : value.substring(0, space));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public record Sample(long memoryBytes, long cpuMillis, int processes) {
+
+        public double memoryMb() {
+            return memoryBytes < 0 ? -1 : memoryBytes / (1024.0 * 1024.0);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.qa.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Журнал прогона: результат каждого завершённого теста дописывается строкой в TSV
+ * ({@code статус, вид, uniqueId, мс, имя}), файл задаётся {@code -Drun.journal.file}
+ * (по умолчанию {@code target/run-journal.tsv}).
+ * <p>
+ * Строки пишет фоновый поток, fsync делается группой: не чаще раза в {@code run.journal.fsync.ms}
+ * (по умолчанию 200 мс) или каждые {@code run.journal.batch} записей. При падении JVM теряется
+ * не больше одной группы, а тесты не ждут диска.
+ */
+public final class RunJournal implements AutoCloseable {
+    public static final String PASSED = "PASSED";
+    public static final String FAILED = "FAILED";
+    public static final String ABORTED = "ABORTED";
+    public static final String SKIPPED = "SKIPPED";
+
+    private static final Entry POISON = new Entry("", "", "", 0, "");
+
+    private final Path file;
+    private final FileChannel channel;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final long fsyncNanos;
+    private final int batch;
+
+    public RunJournal(Path file, boolean append, long fsyncMillis, int batch) {
+        this.file = file;
+        this.fsyncNanos = TimeUnit.MILLISECONDS.toNanos(fsyncMillis);
+        this.batch = batch;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            channel = append
+                    ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                    : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось открыть журнал прогона " + file, e);
+        }
+        Thread writer = new Thread(this::writeLoop, "run-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static Path defaultFile() {
+        return Paths.get(System.getProperty("run.journal.file", "target/run-journal.tsv"));
+    }
+
+    public static RunJournal open(boolean append) {
+        return new RunJournal(defaultFile(), append,
+                Long.getLong("run.journal.fsync.ms", 200), Integer.getInteger("run.journal.batch", 64));
+    }
+
+    public void append(String status, String kind, String uniqueId, long millis, String displayName) {
+        queue.add(new Entry(status, kind, uniqueId, millis, displayName));
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Дописывает очередь, делает fsync и закрывает файл.
+     */
+    @Override
+    public void close() {
+        queue.add(POISON);
+        try {
+            stopped.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<Entry> pending = new ArrayList<>();
+        long lastSync = System.nanoTime();
+        int unsynced = 0;
+        try {
+            while (true) {
+                Entry first = queue.poll(fsyncNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    pending.add(first);
+                    queue.drainTo(pending);
+                }
+                boolean stop = pending.remove(POISON);
+                if (!pending.isEmpty()) {
+                    StringBuilder lines = new StringBuilder();
+                    pending.forEach(entry -> lines.append(entry.line()).append('\n'));
+                    ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    unsynced += pending.size();
+                    pending.clear();
+                }
+                long now = System.nanoTime();
+                if (unsynced > 0 && (stop || unsynced >= batch || now - lastSync >= fsyncNanos)) {
+                    channel.force(false);
+                    unsynced = 0;
+                    lastSync = now;
+                }
+                if (stop) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Журнал прогона не записан: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Игнор исключения
+            }
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Последний результат каждого uniqueId из журнала, строки с ошибками разбора пропускаются
+     * (например, недописанная строка после падения).
+     */
+    public static Snapshot load(Path file) {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        if (Files.exists(file)) {
+            try {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    Entry entry = Entry.parse(line);
+                    if (entry != null) {
+                        entries.remove(entry.uniqueId());
+                        entries.put(entry.uniqueId(), entry);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Не удалось прочитать журнал прогона: " + e.getMessage());
+            }
+        }
+        return new Snapshot(entries);
+    }
+
+    public static final class Snapshot {
+        private final Map<String, Entry> entries;
+
+        Snapshot(Map<String, Entry> entries) {
+            this.entries = entries;
+        }
+
+        /**
+         * Тест можно не запускать повторно: он прошёл. Контейнер с динамическими тестами
+         * (параметризованный тест, фабрика) - если он завершился и ни один его тест не упал.
+         */
+        public boolean passed(String uniqueId) {
+            Entry entry = entries.get(uniqueId);
+            if (entry == null || !PASSED.equals(entry.status())) {
+                return false;
+            }
+            if (!"container".equals(entry.kind())) {
+                return true;
+            }
+            String prefix = uniqueId + "/";
+            for (Entry child : entries.values()) {
+                if (child.uniqueId().startsWith(prefix)
+                        && (FAILED.equals(child.status()) || ABORTED.equals(child.status()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public Map<String, Entry> entries() {
+            return entries;
+        }
+
+        /**
+         * Количество тестов (без контейнеров) по статусам.
+         */
+        public Map<String, Integer> counts() {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (String status : List.of(PASSED, FAILED, ABORTED, SKIPPED)) {
+                counts.put(status, 0);
+            }
+            entries.values().stream().filter(e -> "test".equals(e.kind()))
+                    .forEach(e -> counts.merge(e.status(), 1, Integer::sum));
+            return counts;
+        }
+    }
+
+    public record Entry(String status, String kind, String uniqueId, long millis, String displayName) {
+
+        String line() {
+            return status + '\t' + kind + '\t' + clean(uniqueId) + '\t' + millis + '\t' + clean(displayName);
+        }
+
+        static Entry parse(String line) {
+            String[] parts = line.split("\t", -1);
+            if (parts.length != 5) {
+                return null;
+            }
+            try {
+                return new Entry(parts[0], parts[1], parts[2], Long.parseLong(parts[3]), parts[4]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static String clean(String value) {
+            return value.replace('\t', ' ').replace('\n', ' ');
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.qa.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RunJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testLastResultWinsAndTornLineIsIgnored() throws Exception {
+        Path file = dir.resolve("journal.tsv");
+        try (RunJournal journal = new RunJournal(file, false, 50, 2)) {
+            journal.append(RunJournal.FAILED, "test", "[class:A]/[method:a()]", 10, "a()");
+            journal.append(RunJournal.PASSED, "test", "[class:A]/[method:b()]", 5, "b()");
+        }
+        // Продолженный прогон дописывает журнал, строка после падения могла остаться недописанной
+        try (RunJournal journal = new RunJournal(file, true, 50, 2)) {
+            journal.append(RunJournal.PASSED, "test", "[class:A]/[method:a()]", 12, "a()");
+        }
+        Files.writeString(file, "PASSED\ttest\t[class:A]/[met", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        RunJournal.Snapshot snapshot = RunJournal.load(file);
+        assertTrue(snapshot.passed("[class:A]/[method:a()]"));
+        assertTrue(snapshot.passed("[class:A]/[method:b()]"));
+        assertFalse(snapshot.passed("[class:A]/[method:c()]"));
+        assertEquals(2, snapshot.counts().get(RunJournal.PASSED));
+        assertEquals(0, snapshot.counts().get(RunJournal.FAILED));
+    }
+
+    @Test
+    void testContainerWithFailedInvocationIsNotPassed() {
+        Path file = dir.resolve("journal.tsv");
+        String template = "[class:A]/[test-template:p(int)]";
+        try (RunJournal journal = new RunJournal(file, false, 50, 64)) {
+            journal.append(RunJournal.PASSED, "test", template + "/[test-template-invocation:#1]", 1, "[1]");
+            journal.append(RunJournal.FAILED, "test", template + "/[test-template-invocation:#2]", 1, "[2]");
+            journal.append(RunJournal.PASSED, "container", template, 2, "p(int)");
+            journal.append(RunJournal.PASSED, "container", "[class:A]/[test-template:q(int)]", 2, "q(int)");
+        }
+
+        RunJournal.Snapshot snapshot = RunJournal.load(file);
+        assertFalse(snapshot.passed(template));
+        assertTrue(snapshot.passed("[class:A]/[test-template:q(int)]"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.qa.utils;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * Выгрузка блобов хранилища артефактов в S3-совместимый бакет. Ключ - хэш содержимого,
+ * поэтому блоб, который уже есть в бакете, повторно не загружается.
+ */
+public class S3ArtifactUploader implements AutoCloseable {
+    private final S3Client client;
+    private final String bucket;
+    private final String prefix;
+
+    public S3ArtifactUploader(String bucket, String endpoint, String region, String prefix) {
+        S3ClientBuilder builder = S3Client.builder().region(Region.of(region));
+        if (endpoint != null && !endpoint.isEmpty()) {
+            // Локальные заглушки (MinIO и т.п.) работают только с path-style адресами
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        this.client = builder.build();
+        this.bucket = bucket;
+        this.prefix = prefix == null ? "" : prefix;
+    }
+
+    /**
+     * @return {@code false}, если блоб уже был в бакете и загрузка пропущена
+     */
+    public boolean upload(String sha256, String fileName, Path blob) {
+        String key = key(sha256, fileName);
+        if (exists(key)) {
+            return false;
+        }
+        client.putObject(PutObjectRequest.builder().bucket(bucket).key(key).build(), RequestBody.fromFile(blob));
+        return true;
+    }
+
+    String key(String sha256, String fileName) {
+        return prefix + sha256.substring(0, 2) + "/" + fileName;
+    }
+
+    private boolean exists(String key) {
+        try {
+            client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+}
@@ -0,0 +1,128 @@
+package com.qa.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Потоковая загрузка и скачивание больших файлов для API-тестов.
+ * <p>
+ * {@code APIRequestContext} Playwright держит тело запроса и ответа целиком в памяти, поэтому здесь
+ * используется {@link HttpClient}: тело читается из файла или {@link GeneratedContent} буфером
+ * {@link #BUFFER_SIZE}, по дороге считаются CRC32C и SHA-256 ({@link TransferChecksum}),
+ * куча не растёт с размером файла. Результат содержит суммы, время и скорость в МБ/с.
+ */
+public final class StreamingTransfer {
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    private final HttpClient client;
+    private final Duration timeout;
+
+    public StreamingTransfer(Duration timeout) {
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    public StreamingTransfer() {
+        this(Duration.ofMinutes(10));
+    }
+
+    /**
+     * Отправляет {@code size} байт из {@code content} телом POST.
+     */
+    public Result upload(URI uri, Supplier<InputStream> content, long size, String contentType) {
+        // Поставщик может вызываться повторно, суммы считаются по последней попытке
+        AtomicReference<TransferChecksum> checksum = new AtomicReference<>();
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> {
+                    TransferChecksum attempt = new TransferChecksum();
+                    checksum.set(attempt);
+                    return attempt.wrap(content.get());
+                }), size);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", contentType)
+                .POST(body)
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
+        long nanos = System.nanoTime() - start;
+        return new Result(response.statusCode(), checksum.get().result(), nanos, response.body(),
+                response.headers().firstValue("content-type").orElse(null));
+    }
+
+    public Result upload(URI uri, Path file, String contentType) {
+        try {
+            long size = Files.size(file);
+            return upload(uri, () -> {
+                try {
+                    return Files.newInputStream(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, size, contentType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Скачивает ответ GET в {@code target} (или только считает суммы, если {@code target == null}).
+     */
+    public Result download(URI uri, Path target) {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(timeout).GET().build();
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+        TransferChecksum checksum = new TransferChecksum();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = response.body();
+             OutputStream out = target == null ? OutputStream.nullOutputStream() : Files.newOutputStream(target)) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                checksum.update(buffer, 0, n);
+                out.write(buffer, 0, n);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Обрыв при скачивании " + uri, e);
+        }
+        long nanos = System.nanoTime() - start;
+        return new Result(response.statusCode(), checksum.result(), nanos, null,
+                response.headers().firstValue("content-type").orElse(null));
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        try {
+            return client.send(request, handler);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Запрос " + request.uri() + " не выполнен", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Запрос " + request.uri() + " прерван", e);
+        }
+    }
+
+    public record Result(int status, TransferChecksum.Result checksum, long nanos, String body, String contentType) {
+
+        public double megabytesPerSecond() {
+            return nanos == 0 ? 0 : checksum.size() / 1_048_576.0 / (nanos / 1e9);
+        }
+
+        public String summary() {
+            return String.format("%d байт за %d мс, %.1f МБ/с, CRC32C %s, SHA-256 %s",
+                    checksum.size(), nanos / 1_000_000, megabytesPerSecond(), checksum.crc32c(), checksum.sha256());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.LoadState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Независимые проверки на нескольких вкладках одного {@link BrowserContext}.
+ * <p>
+ * Каждая проверка делится на {@code start} - быстрый запуск (обычно навигация без ожидания загрузки)
+ * и {@code verify} - ожидания и проверки. Одновременно открыто не больше {@code maxTabs} вкладок:
+ * пока проверяется вкладка i, остальные грузятся в браузере, поэтому задержки сети перекрываются,
+ * а возвраты по истории ({@code goBack}) не нужны. Playwright при этом используется из одного потока.
+ */
+public final class TabFanOut {
+
+    private TabFanOut() {
+    }
+
+    public interface SubCheck<T> {
+        void start(Page page);
+
+        T verify(Page page);
+    }
+
+    /**
+     * Проверка, которая открывает адрес и после загрузки выполняет {@code verifier}.
+     * Навигация запускается через {@code location.href} и не ждёт ответа сервера.
+     */
+    public static <T> SubCheck<T> navigate(String url, Function<Page, T> verifier) {
+        return new SubCheck<>() {
+            @Override
+            public void start(Page page) {
+                // Переиспользуемую вкладку сначала сбрасываем, чтобы verify не принял старый документ за новый
+                if (!"about:blank".equals(page.url())) {
+                    page.navigate("about:blank");
+                }
+                page.evaluate("url => { window.location.href = url; }", url);
+            }
+
+            @Override
+            public T verify(Page page) {
+                page.waitForURL(u -> !"about:blank".equals(u));
+                page.waitForLoadState(LoadState.LOAD);
+                return verifier.apply(page);
+            }
+        };
+    }
+
+    public static <T> Result<T> run(BrowserContext context, int maxTabs, List<? extends SubCheck<T>> checks) {
+        int tabs = Math.max(1, Math.min(maxTabs, checks.size()));
+        List<Page> pages = new ArrayList<>(tabs);
+        List<T> values = new ArrayList<>(Collections.nCopies(checks.size(), null));
+        Map<Integer, Throwable> failures = new TreeMap<>();
+        try {
+            for (int i = 0; i < tabs; i++) {
+                Page page = context.newPage();
+                pages.add(page);
+                start(checks, i, page, failures);
+            }
+            for (int i = 0; i < checks.size(); i++) {
+                Page page = pages.get(i % tabs);
+                if (!failures.containsKey(i)) {
+                    try {
+                        values.set(i, checks.get(i).verify(page));
+                    } catch (Throwable t) {
+                        failures.put(i, t);
+                    }
+                }
+                // Освободившаяся вкладка сразу берёт следующую проверку
+                int next = i + tabs;
+                if (next < checks.size()) {
+                    start(checks, next, page, failures);
+                }
+            }
+        } finally {
+            for (Page page : pages) {
+                page.close();
+            }
+        }
+        return new Result<>(values, failures);
+    }
+
+    private static <T> void start(List<? extends SubCheck<T>> checks, int index, Page page,
+                                  Map<Integer, Throwable> failures) {
+        try {
+            checks.get(index).start(page);
+        } catch (Throwable t) {
+            failures.put(index, t);
+        }
+    }
+
+    public record Result<T>(List<T> values, Map<Integer, Throwable> failures) {
+
+        public boolean passed() {
+            return failures.isEmpty();
+        }
+
+        public Result<T> assertAllPassed() {
+            if (failures.isEmpty()) {
+                return this;
+            }
+            StringBuilder message = new StringBuilder("Упали проверки " + failures.keySet() + " из " + values.size());
+            failures.forEach((index, error) -> message.append("\n  [").append(index).append("] ").append(error));
+            AssertionError error = new AssertionError(message.toString());
+            failures.values().forEach(error::addSuppressed);
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Телеметрия браузеров за прогон.
+ * <p>
+ * Временной ряд пишется в {@code target/telemetry.csv}: фоновые замеры процессов раз в
+ * {@code telemetry.interval.ms} (по умолчанию 1000, 0 - выключить) и замеры на границах тестов
+ * ({@code before} - до теста, {@code executed} - после тела теста, пока страницы открыты,
+ * {@code after} - после закрытия ресурсов теста). В конце прогона в {@code target/telemetry-summary.txt}
+ * пишутся тесты с наибольшим приростом памяти и тесты с подозрением на утечку.
+ * <p>
+ * Утечка - это контексты или страницы, оставшиеся открытыми после теста, или прирост памяти
+ * процессов больше {@code telemetry.leak.mb} (по умолчанию 50 МБ). Память общая на все рабочие потоки,
+ * поэтому при параллельном запуске прирост приписывается тесту приблизительно; для точной
+ * атрибуции запускайте с {@code -Djunit.jupiter.execution.parallel.enabled=false}.
+ */
+public final class TelemetryLog {
+    private static final int TOP = 20;
+
+    private static volatile TelemetryLog instance;
+
+    private final Path summaryFile;
+    private final BufferedWriter series;
+    private final List<TestUsage> usages = new ArrayList<>();
+    private final ScheduledExecutorService sampler;
+    private final long leakBytes;
+    private final long startMillis = System.currentTimeMillis();
+
+    public TelemetryLog(Path seriesFile, Path summaryFile, long intervalMillis, long leakBytes) {
+        this.summaryFile = summaryFile;
+        this.leakBytes = leakBytes;
+        try {
+            Files.createDirectories(seriesFile.toAbsolutePath().getParent());
+            series = Files.newBufferedWriter(seriesFile, StandardCharsets.UTF_8);
+            series.write("timestamp_ms,thread,test,phase,memory_mb,cpu_ms,processes,contexts,pages,js_heap_mb\n");
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось создать файл телеметрии " + seriesFile, e);
+        }
+        if (intervalMillis > 0) {
+            sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "telemetry-sampler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sampler.scheduleAtFixedRate(() -> row("", "sample", ProcessStats.sample(), null),
+                    0, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            sampler = null;
+        }
+    }
+
+    public static TelemetryLog get() {
+        if (instance == null) {
+            synchronized (TelemetryLog.class) {
+                if (instance == null) {
+                    TelemetryLog log = new TelemetryLog(Paths.get("target", "telemetry.csv"),
+                            Paths.get("target", "telemetry-summary.txt"),
+                            Long.getLong("telemetry.interval.ms", 1000),
+                            Long.getLong("telemetry.leak.mb", 50) * 1024 * 1024);
+                    Runtime.getRuntime().addShutdownHook(new Thread(log::close, "telemetry-shutdown"));
+                    instance = log;
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static boolean enabled() {
+        return Boolean.parseBoolean(System.getProperty("telemetry", "true"));
+    }
+
+    /**
+     * Замер на границе теста: процессы и браузеры текущего потока.
+     */
+    public Snapshot snapshot(String test, String phase, Collection<Browser> browsers, boolean withHeap) {
+        Snapshot snapshot = new Snapshot(ProcessStats.sample(), BrowserState.of(browsers, withHeap));
+        row(test, phase, snapshot.process(), snapshot.browsers());
+        return snapshot;
+    }
+
+    public TestUsage finish(String test, Snapshot before, Snapshot executed, Snapshot after) {
+        long memoryDelta = before.process().memoryBytes() < 0 ? 0
+                : after.process().memoryBytes() - before.process().memoryBytes();
+        List<String> leaks = new ArrayList<>();
+        int contextsLeft = after.browsers().contexts() - before.browsers().contexts();
+        int pagesLeft = after.browsers().pages() - before.browsers().pages();
+        if (contextsLeft > 0) {
+            leaks.add("незакрытых контекстов: " + contextsLeft);
+        }
+        if (pagesLeft > 0) {
+            leaks.add("незакрытых страниц: " + pagesLeft);
+        }
+        // Первый тест потока запускает браузер, его память утечкой не считается
+        boolean launched = after.browsers().browsers() > before.browsers().browsers();
+        if (memoryDelta > leakBytes && !launched) {
+            leaks.add(String.format(Locale.ROOT, "память выросла на %.1f МБ", memoryDelta / (1024.0 * 1024.0)));
+        }
+        TestUsage usage = new TestUsage(test, memoryDelta,
+                after.process().cpuMillis() - before.process().cpuMillis(),
+                executed == null ? -1 : executed.browsers().jsHeapBytes(), leaks);
+        synchronized (usages) {
+            usages.add(usage);
+        }
+        return usage;
+    }
+
+    public void close() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+        synchronized (this) {
+            try {
+                series.close();
+            } catch (IOException e) {
+                // Игнор исключения
+            }
+        }
+        try {
+            Files.writeString(summaryFile, summary(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Не удалось записать сводку телеметрии: " + e.getMessage());
+        }
+    }
+
+    String summary() {
+        List<TestUsage> all;
+        synchronized (usages) {
+            all = new ArrayList<>(usages);
+        }
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT,
+                "Телеметрия браузеров: %d тестов за %d с%n", all.size(), (System.currentTimeMillis() - startMillis) / 1000));
+        sb.append("\nНаибольший прирост памяти:\n");
+        all.stream().sorted(Comparator.comparingLong(TestUsage::memoryDelta).reversed()).limit(TOP)
+                .forEach(u -> sb.append("  ").append(u).append('\n'));
+        List<TestUsage> leaking = all.stream().filter(TestUsage::leaking).toList();
+        sb.append("\nПодозрение на утечку: ").append(leaking.size()).append('\n');
+        leaking.forEach(u -> sb.append("  ").append(u.test()).append(": ").append(String.join(", ", u.problems()))
+                .append('\n'));
+        return sb.toString();
+    }
+
+    private synchronized void row(String test, String phase, ProcessStats.Sample process, BrowserState browsers) {
+        try {
+            series.write(String.format(Locale.ROOT, "%d,%s,%s,%s,%.1f,%d,%d,%s,%s,%s%n",
+                    System.currentTimeMillis(), csv(Thread.currentThread().getName()), csv(test), phase,
+                    process.memoryMb(), process.cpuMillis(), process.processes(),
+                    browsers == null ? "" : browsers.contexts(),
+                    browsers == null ? "" : browsers.pages(),
+                    browsers == null || browsers.jsHeapBytes() < 0 ? ""
+                            : String.format(Locale.ROOT, "%.1f", browsers.jsHeapBytes() / (1024.0 * 1024.0))));
+            series.flush();
+        } catch (IOException e) {
+            // Файл уже закрыт при завершении JVM
+        }
+    }
+
+    private static String csv(String value) {
+        return value.contains(",") || value.contains("\"") ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    public record Snapshot(ProcessStats.Sample process, BrowserState browsers) {
+    }
+
+    /**
+     * Запущенные браузеры потока, их открытые контексты и страницы и суммарная JS-куча
+     * ({@code -1} - не измерялась).
+     */
+    public record BrowserState(int browsers, int contexts, int pages, long jsHeapBytes) {
+
+        static BrowserState of(Collection<Browser> browsers, boolean withHeap) {
+            int connected = 0;
+            int contexts = 0;
+            int pages = 0;
+            long heap = withHeap ? 0 : -1;
+            for (Browser browser : browsers) {
+                if (!browser.isConnected()) {
+                    continue;
+                }
+                connected++;
+                for (BrowserContext context : browser.contexts()) {
+                    // Заготовка следующего теста (BrowserPool.prefetch) ещё ничья
+                    if (BrowserPool.isPrefetched(context)) {
+                        continue;
+                    }
+                    contexts++;
+                    for (Page page : context.pages()) {
+                        pages++;
+                        if (withHeap) {
+                            PageMetrics metrics = PageMetrics.of(page);
+                            heap += metrics == null ? 0 : metrics.jsHeapUsedBytes();
+                        }
+                    }
+                }
+            }
+            return new BrowserState(connected, contexts, pages, heap);
+        }
+    }
+
+    public record TestUsage(String test, long memoryDelta, long cpuMillis, long jsHeapBytes, List<String> problems) {
+
+        public boolean leaking() {
+            return !problems.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-60s память %+.1f МБ, CPU %d мс, JS-куча %s",
+                    test, memoryDelta / (1024.0 * 1024.0), cpuMillis,
+                    jsHeapBytes < 0 ? "-" : String.format(Locale.ROOT, "%.1f МБ", jsHeapBytes / (1024.0 * 1024.0)));
+        }
+    }
+}
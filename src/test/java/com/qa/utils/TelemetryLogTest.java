@@ -0,0 +1,49 @@
+package com.qa.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TelemetryLogTest {
+    private static final long MB = 1024 * 1024;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testLeftOpenContextsAndMemoryGrowthAreFlagged() throws Exception {
+        TelemetryLog log = new TelemetryLog(dir.resolve("series.csv"), dir.resolve("summary.txt"), 0, 50 * MB);
+        TelemetryLog.Snapshot before = snapshot(500, 1, 2, 2);
+
+        TelemetryLog.TestUsage clean = log.finish("A.clean", before, null, snapshot(510, 1, 2, 2));
+        TelemetryLog.TestUsage leaked = log.finish("A.leaked", before, null, snapshot(620, 1, 3, 4));
+        // Запуск браузера в первом тесте потока - не утечка
+        TelemetryLog.TestUsage launch = log.finish("A.launch", snapshot(100, 0, 0, 0), null, snapshot(400, 1, 0, 0));
+        log.close();
+
+        assertFalse(clean.leaking());
+        assertEquals(10 * MB, clean.memoryDelta());
+        assertEquals(3, leaked.problems().size(), leaked.problems().toString());
+        assertFalse(launch.leaking());
+        String summary = Files.readString(dir.resolve("summary.txt"));
+        assertTrue(summary.contains("Подозрение на утечку: 1"), summary);
+        assertTrue(summary.contains("A.leaked: незакрытых контекстов: 1"), summary);
+    }
+
+    @Test
+    void testProcFieldParsing() {
+        String rollup = "55d0c0a00000-7ffd3b7fe000 ---p 00000000 00:00 0 [rollup]\nRss:  20480 kB\nPss:  12345 kB\n";
+        assertEquals(12345, ProcessStats.field(rollup, "Pss:"));
+        assertEquals(-1, ProcessStats.field(rollup, "VmRSS:"));
+        assertTrue(ProcessStats.sample().processes() >= 0);
+    }
+
+    private static TelemetryLog.Snapshot snapshot(long memoryMb, int browsers, int contexts, int pages) {
+        return new TelemetryLog.Snapshot(new ProcessStats.Sample(memoryMb * MB, 0, 1),
+                new TelemetryLog.BrowserState(browsers, contexts, pages, -1));
+    }
+}
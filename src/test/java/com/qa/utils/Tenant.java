@@ -0,0 +1,173 @@
+package com.qa.utils;
+
+import com.qa.config.DbConfig;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пространство данных рабочего потока для параллельных тестов с БД.
+ * <p>
+ * У каждого потока своя схема ({@code t_<прогон>_<n>}) с копиями таблиц из {@code db.tenant.tables}
+ * (структура берётся из {@code public} через {@code LIKE ... INCLUDING ALL}) и свой префикс значений.
+ * Соединение из {@link #connect(DbConfig)} работает с {@code search_path} схемы, поэтому SQL тестов
+ * не меняется: {@code users} - это таблица потока. У столбцов-счётчиков тоже свои последовательности,
+ * а {@link #clear} сбрасывает их, так что id в каждом тесте начинаются с 1.
+ * <p>
+ * Через {@link #name(String)} пропускаются только значения, которые должны быть уникальны вне схемы
+ * потока, например логины, которые тестируемая система читает из этой же БД. Учётные данные внешних
+ * систем (демо-пользователь стороннего сайта) остаются как есть: о префиксе те ничего не знают.
+ * Все данные пространства удаляются одним {@code DROP SCHEMA ... CASCADE}.
+ */
+public final class Tenant {
+    // Уникален для прогона: параллельные прогоны CI на одной БД не пересекаются
+    private static final String RUN = Long.toString(ProcessHandle.current().pid(), 36)
+            + Long.toString(System.currentTimeMillis() / 1000 % 1_000_000, 36);
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+    private static final Queue<Tenant> CREATED = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Tenant> CURRENT = ThreadLocal.withInitial(() -> new Tenant(COUNTER.incrementAndGet()));
+
+    private final String schema;
+    private final String prefix;
+    private volatile DbConfig config;
+
+    private Tenant(int number) {
+        this.schema = ("t_" + RUN + "_" + number).toLowerCase(Locale.ROOT);
+        this.prefix = ("w" + number + RUN + "_").toLowerCase(Locale.ROOT);
+    }
+
+    public static Tenant current() {
+        return CURRENT.get();
+    }
+
+    public String schema() {
+        return schema;
+    }
+
+    public String prefix() {
+        return prefix;
+    }
+
+    /**
+     * Значение фикстуры в пространстве потока, например {@code alice -> w1k2x9a_alice}.
+     */
+    public String name(String fixture) {
+        return prefix + fixture;
+    }
+
+    /**
+     * Соединение со схемой потока. При первом вызове создаёт схему и таблицы.
+     */
+    public Connection connect(DbConfig config) throws SQLException {
+        Connection connection = DriverManager.getConnection(config.dbUrl(), config.dbUser(), config.dbPassword());
+        try (Statement statement = connection.createStatement()) {
+            if (this.config == null) {
+                statement.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+                for (String table : config.tenantTables()) {
+                    statement.execute("CREATE TABLE IF NOT EXISTS " + schema + "." + table.trim()
+                            + " (LIKE public." + table.trim() + " INCLUDING ALL)");
+                    ownSequences(connection, table.trim().toLowerCase(Locale.ROOT));
+                }
+                this.config = config;
+                CREATED.add(this);
+            }
+            statement.execute("SET search_path TO " + schema);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    /**
+     * Очищает таблицы потока перед тестом: у каждого теста свой набор данных.
+     */
+    public void clear(Connection connection) throws SQLException {
+        if (config == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE " + String.join(", ", qualified(config.tenantTables()))
+                    + " RESTART IDENTITY CASCADE");
+        }
+    }
+
+    /**
+     * Удаляет схему со всеми данными одним запросом.
+     */
+    public void drop() throws SQLException {
+        if (config == null) {
+            return;
+        }
+        try (Connection connection = DriverManager.getConnection(config.dbUrl(), config.dbUser(), config.dbPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+        }
+        config = null;
+    }
+
+    /**
+     * Удаляет схемы всех потоков, вызывается в конце прогона.
+     */
+    public static void dropAll() {
+        Tenant tenant;
+        while ((tenant = CREATED.poll()) != null) {
+            DbConfig config = tenant.config;
+            if (config == null) {
+                continue;
+            }
+            if (config.tenantKeep()) {
+                System.out.println("Схема " + tenant.schema + " оставлена (db.tenant.keep=true)");
+                continue;
+            }
+            try {
+                tenant.drop();
+            } catch (SQLException e) {
+                System.err.println("Не удалось удалить схему " + tenant.schema + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // LIKE копирует DEFAULT nextval('users_id_seq') как есть, и id шли бы из общей последовательности
+    // в public. SERIAL-столбцы получают последовательность в схеме потока, IDENTITY - уже свою
+    private void ownSequences(Connection connection, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement("SELECT column_name FROM information_schema.columns"
+                + " WHERE table_schema = ? AND table_name = ? AND column_default LIKE 'nextval(%'")) {
+            query.setString(1, schema);
+            query.setString(2, table);
+            try (ResultSet rs = query.executeQuery()) {
+                while (rs.next()) {
+                    columns.add(rs.getString(1));
+                }
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String column : columns) {
+                String sequence = schema + "." + table + "_" + column + "_seq";
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                        + " OWNED BY " + schema + "." + table + "." + column);
+                statement.execute("ALTER TABLE " + schema + "." + table + " ALTER COLUMN " + column
+                        + " SET DEFAULT nextval('" + sequence + "')");
+            }
+        }
+    }
+
+    private String[] qualified(String[] tables) {
+        String[] result = new String[tables.length];
+        for (int i = 0; i < tables.length; i++) {
+            result[i] = schema + "." + tables[i].trim();
+        }
+        return result;
+    }
+}
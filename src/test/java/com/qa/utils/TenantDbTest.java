@@ -0,0 +1,103 @@
+package com.qa.utils;
+
+import com.qa.config.ConfigRegistry;
+import com.qa.config.DbConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Запуск против Postgres из docker-compose: -Ddb.tenant.test=true (адрес БД из dbconfig.properties или -Ddb.url)
+@EnabledIfSystemProperty(named = "db.tenant.test", matches = "true")
+public class TenantDbTest {
+    private static DbConfig config;
+
+    @BeforeAll
+    static void createReferenceTables() throws Exception {
+        config = ConfigRegistry.get(DbConfig.class);
+        String schema;
+        try (InputStream in = TenantDbTest.class.getResourceAsStream("/db/schema.sql")) {
+            schema = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Connection connection = DriverManager.getConnection(config.dbUrl(), config.dbUser(), config.dbPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(schema);
+        }
+    }
+
+    @AfterAll
+    static void dropSchemas() {
+        Tenant.dropAll();
+    }
+
+    @Test
+    void testTenantsHaveOwnRowsAndIds() throws Exception {
+        List<Integer> here = insertUsers("tomsmith", "alice");
+        List<Integer> other = inOtherThread(() -> insertUsers("tomsmith"));
+
+        // Одинаковый логин в двух схемах не нарушает UNIQUE, id у каждой схемы свои
+        assertEquals(List.of(1, 2), here);
+        assertEquals(List.of(1), other);
+        try (Connection connection = Tenant.current().connect(config)) {
+            assertEquals(2, count(connection));
+        }
+    }
+
+    @Test
+    void testClearRestartsIds() throws Exception {
+        insertUsers("tomsmith", "alice");
+        try (Connection connection = Tenant.current().connect(config)) {
+            Tenant.current().clear(connection);
+            assertEquals(0, count(connection));
+        }
+        assertEquals(List.of(1), insertUsers("tomsmith"));
+    }
+
+    // Каждый тест начинает с пустых таблиц, как после TenantExtension
+    private static List<Integer> insertUsers(String... usernames) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection connection = Tenant.current().connect(config)) {
+            Tenant.current().clear(connection);
+            for (String username : usernames) {
+                try (PreparedStatement stmt = connection.prepareStatement(
+                        "INSERT INTO users (username, password) VALUES (?, 'secret') RETURNING id")) {
+                    stmt.setString(1, username);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        rs.next();
+                        ids.add(rs.getInt(1));
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static int count(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(*) FROM users")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static <T> T inOtherThread(Callable<T> task) throws Exception {
+        FutureTask<T> future = new FutureTask<>(task);
+        new Thread(future, "tenant-test-worker").start();
+        return future.get();
+    }
+}
@@ -0,0 +1,23 @@
+package com.qa.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TenantTest {
+
+    @Test
+    void testEachThreadGetsOwnNamespace() throws Exception {
+        Tenant here = Tenant.current();
+        Tenant other = CompletableFuture.supplyAsync(Tenant::current).get();
+
+        assertSame(here, Tenant.current());
+        assertNotEquals(here.schema(), other.schema());
+        assertNotEquals(here.prefix(), other.prefix());
+        assertEquals(here.prefix() + "tomsmith", here.name("tomsmith"));
+        // Имя схемы подставляется в SQL без кавычек и должно быть допустимым идентификатором
+        assertTrue(here.schema().matches("[a-z_][a-z0-9_]{0,62}"), here.schema());
+    }
+}
@@ -0,0 +1,102 @@
+package com.qa.utils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.CRC32C;
+
+/**
+ * Скользящие контрольные суммы CRC32C и SHA-256: данные проходят через них кусками
+ * и нигде не накапливаются, поэтому проверка целостности не зависит от размера файла.
+ */
+public final class TransferChecksum {
+    private static final int MAP_WINDOW = 64 * 1024 * 1024;
+
+    private final CRC32C crc = new CRC32C();
+    private final MessageDigest sha256;
+    private long size;
+
+    public TransferChecksum() {
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void update(byte[] buffer, int offset, int length) {
+        crc.update(buffer, offset, length);
+        sha256.update(buffer, offset, length);
+        size += length;
+    }
+
+    public Result result() {
+        return new Result(size, String.format("%08x", crc.getValue()), HexFormat.of().formatHex(sha256.digest()));
+    }
+
+    /**
+     * Поток, который считает суммы по мере чтения.
+     */
+    public InputStream wrap(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    update(new byte[]{(byte) b}, 0, 1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) {
+                    update(buffer, offset, n);
+                }
+                return n;
+            }
+        };
+    }
+
+    public static Result of(InputStream in) throws IOException {
+        TransferChecksum checksum = new TransferChecksum();
+        byte[] buffer = new byte[StreamingTransfer.BUFFER_SIZE];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            checksum.update(buffer, 0, n);
+        }
+        return checksum.result();
+    }
+
+    /**
+     * Суммы файла через отображение в память окнами по 64 МБ.
+     */
+    public static Result of(Path file) throws IOException {
+        TransferChecksum checksum = new TransferChecksum();
+        byte[] buffer = new byte[StreamingTransfer.BUFFER_SIZE];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAP_WINDOW) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(MAP_WINDOW, size - position));
+                while (window.hasRemaining()) {
+                    int n = Math.min(buffer.length, window.remaining());
+                    window.get(buffer, 0, n);
+                    checksum.update(buffer, 0, n);
+                }
+            }
+        }
+        return checksum.result();
+    }
+
+    public record Result(long size, String crc32c, String sha256) {
+    }
+}
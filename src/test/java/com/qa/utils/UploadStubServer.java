@@ -0,0 +1,100 @@
+package com.qa.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Локальная заглушка сервиса файлов для {@link StreamingTransfer}:
+ * <ul>
+ *     <li>{@code POST /upload} - читает тело потоком и отвечает JSON с размером, CRC32C и SHA-256;</li>
+ *     <li>{@code GET /download?size=N&seed=S} - отдаёт {@link GeneratedContent} длиной N.</li>
+ * </ul>
+ * Ничего не хранит, поэтому объём файлов ограничен только временем.
+ */
+public final class UploadStubServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private UploadStubServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static UploadStubServer start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            ExecutorService executor = Executors.newFixedThreadPool(4, r -> {
+                Thread thread = new Thread(r, "upload-stub");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            server.createContext("/upload", UploadStubServer::upload);
+            server.createContext("/download", UploadStubServer::download);
+            server.start();
+            return new UploadStubServer(server, executor);
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось запустить заглушку загрузки", e);
+        }
+    }
+
+    public URI uri(String pathAndQuery) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + pathAndQuery);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void upload(HttpExchange exchange) throws IOException {
+        TransferChecksum.Result result;
+        try (InputStream body = exchange.getRequestBody()) {
+            result = TransferChecksum.of(body);
+        }
+        byte[] json = String.format("{\"size\":%d,\"crc32c\":\"%s\",\"sha256\":\"%s\"}",
+                result.size(), result.crc32c(), result.sha256()).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+
+    private static void download(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange.getRequestURI());
+        long size = Long.parseLong(query.getOrDefault("size", "0"));
+        long seed = Long.parseLong(query.getOrDefault("seed", "1"));
+        exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+        exchange.sendResponseHeaders(200, size == 0 ? -1 : size);
+        try (InputStream in = new GeneratedContent(size, seed); OutputStream out = exchange.getResponseBody()) {
+            in.transferTo(out);
+        }
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        if (uri.getRawQuery() != null) {
+            for (String pair : uri.getRawQuery().split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(pair.substring(0, eq), pair.substring(eq + 1));
+                }
+            }
+        }
+        return params;
+    }
+}
@@ -0,0 +1,19 @@
+package com.qa.utils;
+
+import com.qa.config.ConfigRegistry;
+import com.qa.config.EnvConfig;
+
+public final class Urls {
+
+    private Urls() {
+    }
+
+    // Полный адрес из base_url конфига и относительного пути
+    public static String of(String path) {
+        String base = ConfigRegistry.get(EnvConfig.class).baseUrl().replaceAll("/$", "");
+        if (path == null || path.isEmpty()) {
+            return base;
+        }
+        return path.startsWith("/") ? base + path : base + "/" + path;
+    }
+}
@@ -0,0 +1,97 @@
+package com.qa.utils;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+
+/**
+ * Множество уже найденных адресов для обхода сайта: хранятся не строки, а 64-битные хэши
+ * нормализованных адресов в открытой адресации на {@code long[]}, 8-16 байт на адрес.
+ * Вероятность коллизии для десятков тысяч адресов пренебрежимо мала, а коллизия означает лишь
+ * пропущенную страницу. Потокобезопасно.
+ */
+public final class VisitedUrls {
+    private long[] table;
+    private int size;
+
+    public VisitedUrls(int expected) {
+        table = new long[Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1];
+    }
+
+    /**
+     * Адрес без фрагмента, с хостом и схемой в нижнем регистре, без порта по умолчанию
+     * и с путём {@code /} вместо пустого; {@code null} - не http(s) или не разбирается.
+     */
+    public static String normalize(String url) {
+        try {
+            URI uri = new URI(url.trim());
+            String scheme = uri.getScheme() == null ? null : uri.getScheme().toLowerCase(Locale.ROOT);
+            if (!"http".equals(scheme) && !"https".equals(scheme) || uri.getHost() == null) {
+                return null;
+            }
+            int port = uri.getPort();
+            if (port == 80 && "http".equals(scheme) || port == 443 && "https".equals(scheme)) {
+                port = -1;
+            }
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT) + (port == -1 ? "" : ":" + port)
+                    + path + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return {@code true}, если адрес (уже нормализованный) встретился впервые
+     */
+    public synchronized boolean add(String url) {
+        long hash = hash(url);
+        int mask = table.length - 1;
+        for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+            if (table[i] == hash) {
+                return false;
+            }
+            if (table[i] == 0) {
+                table[i] = hash;
+                if (++size * 2 > table.length) {
+                    grow();
+                }
+                return true;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        int mask = table.length - 1;
+        for (long hash : old) {
+            if (hash != 0) {
+                int i = (int) hash & mask;
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = hash;
+            }
+        }
+    }
+
+    // FNV-1a с перемешиванием из MurmurHash3, 0 занят под пустую ячейку
+    static long hash(String url) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < url.length(); i++) {
+            h ^= url.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+}
@@ -0,0 +1,29 @@
+package com.qa.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VisitedUrlsTest {
+
+    @Test
+    void testNormalizationCollapsesEquivalentUrls() {
+        assertEquals("https://example.com/", VisitedUrls.normalize("HTTPS://Example.com"));
+        assertEquals("https://example.com/a?x=1", VisitedUrls.normalize("https://example.com:443/a?x=1#top"));
+        assertEquals("http://example.com:8080/a", VisitedUrls.normalize("http://example.com:8080/a"));
+        assertNull(VisitedUrls.normalize("mailto:someone@example.com"));
+        assertNull(VisitedUrls.normalize("javascript:void(0)"));
+    }
+
+    @Test
+    void testEachUrlIsAddedOnceWhileGrowing() {
+        VisitedUrls visited = new VisitedUrls(4);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(visited.add("https://example.com/page/" + i));
+        }
+        for (int i = 0; i < 10_000; i += 7) {
+            assertFalse(visited.add("https://example.com/page/" + i));
+        }
+        assertEquals(10_000, visited.size());
+    }
+}
@@ -0,0 +1,243 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.ViewportSize;
+import io.qameta.allure.Allure;
+
+import javax.imageio.ImageIO;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Визуальные проверки скриншотов против эталонов.
+ * <p>
+ * Эталоны лежат в {@code visual.baseline.dir} (по умолчанию {@code src/test/resources/visual-baselines})
+ * по пути {@code <тест>/<браузер>-<устройство>/<имя>.png}, рядом - {@code .hash} с размером и dHash,
+ * поэтому при совпадении хэшей эталон даже не декодируется. Вариант берётся из страницы
+ * ({@link #variant}): движок браузера и профиль устройства по размеру viewport.
+ * Эталоны создаются и обновляются только с {@code -Dvisual.update=true} и коммитятся вместе с тестом;
+ * без эталона проверка падает, иначе первый прогон в CI молча принял бы любой скриншот.
+ * При расхождении в Allure прикладываются эталон, факт и diff.
+ */
+public final class VisualAssert {
+    private static final Path BASELINE_DIR = Paths.get(
+            System.getProperty("visual.baseline.dir", "src/test/resources/visual-baselines"));
+    private static final boolean UPDATE = Boolean.getBoolean("visual.update");
+
+    private VisualAssert() {
+    }
+
+    public static Options options() {
+        return new Options();
+    }
+
+    public static void assertMatches(Page page, String testId, String name) {
+        assertMatches(page, testId, name, options());
+    }
+
+    public static void assertMatches(Page page, String testId, String name, Options options) {
+        byte[] png = page.screenshot(new Page.ScreenshotOptions().setFullPage(options.fullPage));
+        assertMatches(png, testId, variant(page, options), name, options);
+    }
+
+    public static String variant(Page page) {
+        return variant(page, options());
+    }
+
+    /**
+     * Каталог эталонов для страницы: {@code <движок>-<устройство>}. Без явного {@link Options#device}
+     * устройство - профиль из {@link DeviceProfiles} с размером viewport страницы, а если такого нет -
+     * сам размер, например {@code chromium-1366x768}.
+     */
+    public static String variant(Page page, Options options) {
+        String browser = options.browser != null ? options.browser
+                : page.context().browser().browserType().name();
+        String device = options.device;
+        if (device == null) {
+            ViewportSize viewport = page.viewportSize();
+            device = viewport == null ? DeviceProfiles.DESKTOP : DeviceProfiles.all().stream()
+                    .filter(p -> p.width() == viewport.width && p.height() == viewport.height)
+                    .map(DeviceProfile::name)
+                    .findFirst()
+                    .orElse(viewport.width + "x" + viewport.height);
+        }
+        return browser + "-" + device;
+    }
+
+    public static void assertMatches(byte[] png, String testId, String variant, String name, Options options) {
+        Path baseline = BASELINE_DIR.resolve(testId).resolve(variant).resolve(name + ".png");
+        Path hashFile = baseline.resolveSibling(name + ".png.hash");
+
+        Raster actual = Raster.decode(png);
+        actual.mask(options.ignore);
+        long actualHash = VisualDiff.dHash(actual.argb, actual.width, actual.height);
+
+        if (UPDATE) {
+            writeBaseline(png, baseline, hashFile, actual, actualHash);
+            attach("Новый эталон " + name, png);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            attach("Факт " + name, png);
+            throw new AssertionError("Нет эталона " + baseline + " - снимите его прогоном с -Dvisual.update=true"
+                    + " и закоммитьте");
+        }
+
+        String[] stored = readHash(hashFile);
+        if (stored != null
+                && Integer.parseInt(stored[0]) == actual.width
+                && Integer.parseInt(stored[1]) == actual.height
+                && Long.parseUnsignedLong(stored[2], 16) == actualHash) {
+            return;
+        }
+
+        Raster expected = Raster.decode(read(baseline));
+        expected.mask(options.ignore);
+        if (expected.width != actual.width || expected.height != actual.height) {
+            attach("Эталон " + name, read(baseline));
+            attach("Факт " + name, png);
+            throw new AssertionError(String.format("Размер скриншота %s изменился: %dx%d -> %dx%d",
+                    name, expected.width, expected.height, actual.width, actual.height));
+        }
+        if (VisualDiff.dHash(expected.argb, expected.width, expected.height) == actualHash) {
+            return;
+        }
+
+        VisualDiff.Result result = VisualDiff.compare(expected.argb, actual.argb,
+                actual.width, actual.height, options.tolerance, VisualDiff.DEFAULT_TILE);
+        if (result.ratio() > options.maxDiffRatio) {
+            attach("Эталон " + name, read(baseline));
+            attach("Факт " + name, png);
+            attach("Diff " + name, Raster.encode(result.diff(), actual.width, actual.height));
+            throw new AssertionError(String.format("Скриншот %s отличается от эталона: %d пикселей (%.4f%%), допустимо %.4f%%",
+                    name, result.differingPixels(), result.ratio() * 100, options.maxDiffRatio * 100));
+        }
+    }
+
+    private static void writeBaseline(byte[] png, Path baseline, Path hashFile, Raster raster, long hash) {
+        try {
+            Files.createDirectories(baseline.getParent());
+            Files.write(baseline, png);
+            Files.writeString(hashFile, raster.width + " " + raster.height + " " + Long.toHexString(hash),
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось сохранить эталон " + baseline, e);
+        }
+    }
+
+    private static String[] readHash(Path hashFile) {
+        try {
+            if (!Files.exists(hashFile)) {
+                return null;
+            }
+            String[] parts = Files.readString(hashFile, StandardCharsets.UTF_8).trim().split("\\s+");
+            return parts.length == 3 ? parts : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static byte[] read(Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Не удалось прочитать " + path, e);
+        }
+    }
+
+    private static void attach(String title, byte[] png) {
+        Allure.addAttachment(title, "image/png", new ByteArrayInputStream(png), ".png");
+    }
+
+    public static final class Options {
+        private final List<Rectangle> ignore = new ArrayList<>();
+        private String browser;
+        private String device;
+        private boolean fullPage = true;
+        private int tolerance = 8;
+        private double maxDiffRatio = 0.001;
+
+        private Options() {
+        }
+
+        public Options ignore(int x, int y, int width, int height) {
+            ignore.add(new Rectangle(x, y, width, height));
+            return this;
+        }
+
+        public Options browser(String browser) {
+            this.browser = browser;
+            return this;
+        }
+
+        public Options device(String device) {
+            this.device = device;
+            return this;
+        }
+
+        public Options fullPage(boolean fullPage) {
+            this.fullPage = fullPage;
+            return this;
+        }
+
+        // Допустимое отклонение канала цвета, 0..255
+        public Options tolerance(int tolerance) {
+            this.tolerance = tolerance;
+            return this;
+        }
+
+        // Допустимая доля отличающихся пикселей, 0..1
+        public Options maxDiffRatio(double maxDiffRatio) {
+            this.maxDiffRatio = maxDiffRatio;
+            return this;
+        }
+    }
+
+    private static final class Raster {
+        private final int[] argb;
+        private final int width;
+        private final int height;
+
+        private Raster(int[] argb, int width, int height) {
+            this.argb = argb;
+            this.width = width;
+            this.height = height;
+        }
+
+        static Raster decode(byte[] png) {
+            try {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+                int w = image.getWidth();
+                int h = image.getHeight();
+                return new Raster(image.getRGB(0, 0, w, h, null, 0, w), w, h);
+            } catch (IOException e) {
+                throw new RuntimeException("Не удалось декодировать PNG", e);
+            }
+        }
+
+        static byte[] encode(int[] argb, int width, int height) {
+            try {
+                BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+                image.setRGB(0, 0, width, height, argb, 0, width);
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                ImageIO.write(image, "png", out);
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new RuntimeException("Не удалось закодировать diff", e);
+            }
+        }
+
+        void mask(List<Rectangle> regions) {
+            VisualDiff.mask(argb, width, height, regions);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.qa.utils;
+
+import java.awt.Rectangle;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Сравнение растров ARGB ({@code int[]}, строка за строкой).
+ * Сначала сравниваются перцептивные хэши (dHash 64 бита), попиксельное сравнение по тайлам
+ * запускается только если хэши разошлись, тайлы обрабатываются параллельно на всех ядрах.
+ */
+public final class VisualDiff {
+    public static final int DEFAULT_TILE = 64;
+
+    // Цвет отличающихся пикселей на diff-картинке
+    private static final int DIFF_COLOR = 0xFFFF0000;
+
+    private VisualDiff() {
+    }
+
+    /**
+     * dHash: картинка сжимается до 9x8 в оттенках серого, каждый бит - "левый пиксель ярче правого".
+     */
+    public static long dHash(int[] argb, int width, int height) {
+        double[] gray = new double[9 * 8];
+        for (int gy = 0; gy < 8; gy++) {
+            int y0 = gy * height / 8;
+            int y1 = Math.max(y0 + 1, (gy + 1) * height / 8);
+            for (int gx = 0; gx < 9; gx++) {
+                int x0 = gx * width / 9;
+                int x1 = Math.max(x0 + 1, (gx + 1) * width / 9);
+                long sum = 0;
+                for (int y = y0; y < y1 && y < height; y++) {
+                    int row = y * width;
+                    for (int x = x0; x < x1 && x < width; x++) {
+                        sum += luma(argb[row + x]);
+                    }
+                }
+                gray[gy * 9 + gx] = (double) sum / ((long) (y1 - y0) * (x1 - x0));
+            }
+        }
+        long hash = 0;
+        for (int gy = 0; gy < 8; gy++) {
+            for (int gx = 0; gx < 8; gx++) {
+                hash <<= 1;
+                if (gray[gy * 9 + gx] > gray[gy * 9 + gx + 1]) {
+                    hash |= 1;
+                }
+            }
+        }
+        return hash;
+    }
+
+    public static int hammingDistance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /**
+     * Закрашивает игнорируемые области чёрным прямо в переданном растре.
+     */
+    public static void mask(int[] argb, int width, int height, List<Rectangle> regions) {
+        for (Rectangle r : regions) {
+            Rectangle clipped = r.intersection(new Rectangle(0, 0, width, height));
+            for (int y = clipped.y; y < clipped.y + clipped.height; y++) {
+                int row = y * width;
+                for (int x = clipped.x; x < clipped.x + clipped.width; x++) {
+                    argb[row + x] = 0xFF000000;
+                }
+            }
+        }
+    }
+
+    /**
+     * Попиксельное сравнение растров одного размера. Пиксель считается отличающимся,
+     * если хотя бы один канал расходится больше чем на {@code tolerance}.
+     */
+    public static Result compare(int[] expected, int[] actual, int width, int height, int tolerance, int tile) {
+        if (expected.length != actual.length || expected.length != width * height) {
+            throw new IllegalArgumentException("Растры разного размера");
+        }
+        int[] diff = new int[width * height];
+        int tilesX = (width + tile - 1) / tile;
+        int tilesY = (height + tile - 1) / tile;
+        long differing = IntStream.range(0, tilesX * tilesY).parallel().mapToLong(t -> {
+            int x0 = (t % tilesX) * tile;
+            int y0 = (t / tilesX) * tile;
+            int x1 = Math.min(width, x0 + tile);
+            int y1 = Math.min(height, y0 + tile);
+            long count = 0;
+            for (int y = y0; y < y1; y++) {
+                int row = y * width;
+                for (int x = x0; x < x1; x++) {
+                    int i = row + x;
+                    int e = expected[i];
+                    int a = actual[i];
+                    if (e != a && channelDelta(e, a) > tolerance) {
+                        diff[i] = DIFF_COLOR;
+                        count++;
+                    } else {
+                        // Совпавшие пиксели бледнее, чтобы на diff было видно контекст
+                        diff[i] = 0xFF000000 | ((luma(a) / 4 + 191) * 0x010101);
+                    }
+                }
+            }
+            return count;
+        }).sum();
+        return new Result(differing, (long) width * height, diff);
+    }
+
+    private static int channelDelta(int e, int a) {
+        int dr = Math.abs(((e >> 16) & 0xFF) - ((a >> 16) & 0xFF));
+        int dg = Math.abs(((e >> 8) & 0xFF) - ((a >> 8) & 0xFF));
+        int db = Math.abs((e & 0xFF) - (a & 0xFF));
+        return Math.max(dr, Math.max(dg, db));
+    }
+
+    private static int luma(int argb) {
+        int r = (argb >> 16) & 0xFF;
+        int g = (argb >> 8) & 0xFF;
+        int b = argb & 0xFF;
+        return (r * 299 + g * 587 + b * 114) / 1000;
+    }
+
+    public record Result(long differingPixels, long totalPixels, int[] diff) {
+        public double ratio() {
+            return totalPixels == 0 ? 0 : (double) differingPixels / totalPixels;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.qa.utils;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VisualDiffTest {
+    private static final int W = 200;
+    private static final int H = 150;
+
+    @Test
+    void testIdenticalRastersHaveEqualHashes() {
+        int[] image = gradient();
+        assertEquals(VisualDiff.dHash(image, W, H), VisualDiff.dHash(image.clone(), W, H));
+    }
+
+    @Test
+    void testDiffCountsChangedPixelsOnly() {
+        int[] expected = gradient();
+        int[] actual = expected.clone();
+        for (int y = 10; y < 20; y++) {
+            for (int x = 30; x < 40; x++) {
+                actual[y * W + x] = 0xFFFF00FF;
+            }
+        }
+
+        VisualDiff.Result result = VisualDiff.compare(expected, actual, W, H, 8, 64);
+        assertEquals(100, result.differingPixels());
+        assertEquals(W * H, result.totalPixels());
+    }
+
+    @Test
+    void testIgnoredRegionIsNotCompared() {
+        int[] expected = gradient();
+        int[] actual = expected.clone();
+        Arrays.fill(actual, 0, W * 10, 0xFF00FF00);
+
+        List<Rectangle> ignore = List.of(new Rectangle(0, 0, W, 10));
+        VisualDiff.mask(expected, W, H, ignore);
+        VisualDiff.mask(actual, W, H, ignore);
+
+        assertEquals(0, VisualDiff.compare(expected, actual, W, H, 0, 64).differingPixels());
+        assertEquals(VisualDiff.dHash(expected, W, H), VisualDiff.dHash(actual, W, H));
+    }
+
+    @Test
+    void testDifferentImagesHaveDistantHashes() {
+        int[] gradient = gradient();
+        int[] inverted = new int[gradient.length];
+        for (int i = 0; i < gradient.length; i++) {
+            inverted[i] = 0xFF000000 | (~gradient[i] & 0xFFFFFF);
+        }
+        assertTrue(VisualDiff.hammingDistance(VisualDiff.dHash(gradient, W, H), VisualDiff.dHash(inverted, W, H)) > 10);
+    }
+
+    @Test
+    void testMissingBaselineFails() throws IOException {
+        BufferedImage image = new BufferedImage(W, H, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, W, H, gradient(), 0, W);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+
+        AssertionError error = assertThrows(AssertionError.class, () -> VisualAssert.assertMatches(png.toByteArray(),
+                "VisualDiffTest-no-such-test", "chromium-desktop", "missing", VisualAssert.options()));
+        assertTrue(error.getMessage().contains("visual.update"), error.getMessage());
+    }
+
+    private static int[] gradient() {
+        int[] argb = new int[W * H];
+        for (int y = 0; y < H; y++) {
+            for (int x = 0; x < W; x++) {
+                int v = (x * 255 / W + y) & 0xFF;
+                argb[y * W + x] = 0xFF000000 | (v << 16) | (v << 8) | v;
+            }
+        }
+        return argb;
+    }
+}
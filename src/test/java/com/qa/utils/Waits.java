@@ -0,0 +1,217 @@
+package com.qa.utils;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.TimeoutError;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Ожидания на стороне браузера: условие проверяется в странице через {@code MutationObserver}
+ * или события, тест просыпается сразу, как только оно выполнилось, без опроса через RPC.
+ * <p>
+ * Фиксированные паузы идут через {@link #fixedSleep(Duration)}, который учитывает их в lint-режиме
+ * ({@code -Dwaits.lint=report|fail}): {@code report} печатает в конце прогона места вызова и суммарное время,
+ * {@code fail} роняет тест на первой же паузе.
+ */
+public final class Waits {
+    public static final int DEFAULT_TIMEOUT_MS = 30_000;
+
+    private static final String OBSERVE_SCRIPT = """
+            ({ selector, kind, name, expected, timeout }) => new Promise(resolve => {
+              const matches = () => {
+                const el = document.querySelector(selector);
+                if (!el) {
+                  return false;
+                }
+                if (kind === 'text') {
+                  return (el.textContent || '').includes(expected);
+                }
+                const value = el.getAttribute(name);
+                return expected === null ? value !== null : value === expected;
+              };
+              if (matches()) {
+                resolve(true);
+                return;
+              }
+              const timer = setTimeout(() => { observer.disconnect(); resolve(false); }, timeout);
+              const observer = new MutationObserver(() => {
+                if (matches()) {
+                  clearTimeout(timer);
+                  observer.disconnect();
+                  resolve(true);
+                }
+              });
+              observer.observe(document, { childList: true, subtree: true, characterData: true, attributes: true });
+            })
+            """;
+
+    private static final String ARM_EVENT_SCRIPT = """
+            name => {
+              window.__qaEvents = window.__qaEvents || {};
+              window.__qaEvents[name] = new Promise(resolve =>
+                window.addEventListener(name, e => resolve(e.detail === undefined ? null : e.detail),
+                  { once: true, capture: true }));
+            }
+            """;
+
+    private static final String AWAIT_EVENT_SCRIPT = """
+            ({ name, timeout }) => Promise.race([
+              window.__qaEvents[name].then(detail => ({ fired: true, detail })),
+              new Promise(resolve => setTimeout(() => resolve({ fired: false }), timeout))
+            ])
+            """;
+
+    private Waits() {
+    }
+
+    /**
+     * Ждёт, пока текст элемента будет содержать подстроку.
+     */
+    public static void forText(Page page, String selector, String substring) {
+        forText(page, selector, substring, DEFAULT_TIMEOUT_MS);
+    }
+
+    public static void forText(Page page, String selector, String substring, int timeoutMs) {
+        observe(page, Map.of("selector", selector, "kind", "text", "name", "", "expected", substring,
+                "timeout", timeoutMs), "текст '" + substring + "' в " + selector);
+    }
+
+    /**
+     * Ждёт, пока атрибут элемента примет значение; {@code expected == null} - просто появится.
+     */
+    public static void forAttribute(Page page, String selector, String name, String expected) {
+        forAttribute(page, selector, name, expected, DEFAULT_TIMEOUT_MS);
+    }
+
+    public static void forAttribute(Page page, String selector, String name, String expected, int timeoutMs) {
+        Map<String, Object> arg = new HashMap<>();
+        arg.put("selector", selector);
+        arg.put("kind", "attribute");
+        arg.put("name", name);
+        arg.put("expected", expected);
+        arg.put("timeout", timeoutMs);
+        observe(page, arg, "атрибут " + name + "=" + expected + " в " + selector);
+    }
+
+    /**
+     * Подписывается на пользовательское DOM-событие, выполняет действие и ждёт события.
+     * Подписка ставится до действия, поэтому событие не теряется. Возвращает {@code event.detail}.
+     * Действие не должно уводить страницу на другой документ.
+     */
+    public static Object forEvent(Page page, String eventName, Runnable action) {
+        return forEvent(page, eventName, DEFAULT_TIMEOUT_MS, action);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Object forEvent(Page page, String eventName, int timeoutMs, Runnable action) {
+        page.evaluate(ARM_EVENT_SCRIPT, eventName);
+        action.run();
+        Map<String, Object> result = (Map<String, Object>) page.evaluate(AWAIT_EVENT_SCRIPT,
+                Map.of("name", eventName, "timeout", timeoutMs));
+        if (!Boolean.TRUE.equals(result.get("fired"))) {
+            throw new TimeoutError("Событие '" + eventName + "' не произошло за " + timeoutMs + " мс");
+        }
+        return result.get("detail");
+    }
+
+    public static Response forResponse(Page page, Predicate<Response> predicate, Runnable action) {
+        return page.waitForResponse(predicate, action);
+    }
+
+    public static Response forResponse(Page page, String urlPart, int status, Runnable action) {
+        return forResponse(page, r -> r.url().contains(urlPart) && r.status() == status, action);
+    }
+
+    public static Request forRequest(Page page, Predicate<Request> predicate, Runnable action) {
+        return page.waitForRequest(predicate, action);
+    }
+
+    /**
+     * Фиксированная пауза. Оставлять только там, где ждать действительно нечего.
+     */
+    public static void fixedSleep(Duration duration) {
+        SleepLint.record(duration);
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void fixedSleep(Page page, Duration duration) {
+        SleepLint.record(duration);
+        page.waitForTimeout(duration.toMillis());
+    }
+
+    private static void observe(Page page, Map<String, Object> arg, String description) {
+        Object matched = page.evaluate(OBSERVE_SCRIPT, arg);
+        if (!Boolean.TRUE.equals(matched)) {
+            throw new TimeoutError("Не дождались: " + description + " за " + arg.get("timeout") + " мс");
+        }
+    }
+
+    /**
+     * Учёт фиксированных пауз по местам вызова.
+     */
+    static final class SleepLint {
+        private static final String MODE = System.getProperty("waits.lint", "off");
+        private static final Map<String, AtomicLong[]> SITES = new ConcurrentHashMap<>();
+
+        static {
+            if ("report".equals(MODE)) {
+                Runtime.getRuntime().addShutdownHook(new Thread(SleepLint::report, "waits-lint-report"));
+            }
+        }
+
+        private SleepLint() {
+        }
+
+        static void record(Duration duration) {
+            if ("off".equals(MODE)) {
+                return;
+            }
+            String site = callSite();
+            if ("fail".equals(MODE)) {
+                throw new AssertionError("Фиксированная пауза " + duration.toMillis() + " мс в " + site
+                        + ": замените на ожидание условия");
+            }
+            AtomicLong[] stats = SITES.computeIfAbsent(site, s -> new AtomicLong[]{new AtomicLong(), new AtomicLong()});
+            stats[0].incrementAndGet();
+            stats[1].addAndGet(duration.toMillis());
+        }
+
+        private static String callSite() {
+            return StackWalker.getInstance().walk(frames -> frames
+                    .filter(f -> !f.getClassName().startsWith(Waits.class.getName()))
+                    .findFirst()
+                    .map(f -> f.getClassName() + "." + f.getMethodName() + ":" + f.getLineNumber())
+                    .orElse("unknown"));
+        }
+
+        private static void report() {
+            if (SITES.isEmpty()) {
+                return;
+            }
+            long total = 0;
+            StringBuilder sb = new StringBuilder("Фиксированные паузы за прогон:\n");
+            List<Map.Entry<String, AtomicLong[]>> sorted = SITES.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue()[1].get(), a.getValue()[1].get()))
+                    .toList();
+            for (Map.Entry<String, AtomicLong[]> e : sorted) {
+                long ms = e.getValue()[1].get();
+                total += ms;
+                sb.append(String.format("  %-70s x%d  %d мс%n", e.getKey(), e.getValue()[0].get(), ms));
+            }
+            sb.append("Итого: ").append(total).append(" мс");
+            System.out.println(sb);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+-- Эталонные таблицы в public, схемы рабочих потоков копируют их структуру (Tenant).
+-- IDENTITY вместо SERIAL: LIKE ... INCLUDING ALL даёт копии собственную последовательность
+CREATE TABLE IF NOT EXISTS users (
+    id       INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(100) NOT NULL
+);